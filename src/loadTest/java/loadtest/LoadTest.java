@@ -0,0 +1,337 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import simpleDb.AdmissionController;
+import simpleDb.SimpleDbConfig;
+import simpleDb.SimpleDbImpl;
+import sql.SqlImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// SimpleDbImpl 부하 테스트
+// closed loop: 각 스레드가 앞 요청이 끝나면 바로 다음 요청
+// open loop: 목표 처리량(rate)에 맞춘 예정 시각 기준으로 지연 측정 (coordinated omission 보정)
+public class LoadTest {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Config config;
+    private final SimpleDbImpl simpleDb;
+    private final Map<Workload, Stats> stats = new EnumMap<>(Workload.class);
+    private final Workload[] workloads;
+    private final int[] cumulativeWeights;
+    private volatile boolean running = true;
+    private final AtomicLong maxId = new AtomicLong();
+
+    public LoadTest(Config config) {
+        this.config = config;
+        SimpleDbConfig.SimpleDbConfigBuilder builder = config.preset == null
+                ? SimpleDbConfig.builder()
+                : SimpleDbConfig.preset(SimpleDbConfig.Preset.of(config.preset));
+        this.simpleDb = new SimpleDbImpl(builder
+                .host(config.host)
+                .port(config.port)
+                .dbName(config.dbName)
+                .username(config.username)
+                .password(config.password)
+                // closed loop 는 스레드 수만큼 동시에 요청하므로 대기열도 그만큼 잡아야 QUEUE_FULL 대신 실제 대기시간이 측정됨
+                .maxQueueLength(Math.max(config.threads, SimpleDbConfig.builder().build().getMaxQueueLength()))
+                .build());
+
+        workloads = config.mix.keySet().toArray(Workload[]::new);
+        cumulativeWeights = new int[workloads.length];
+        int sum = 0;
+        for (int i = 0; i < workloads.length; i++) {
+            sum += config.mix.get(workloads[i]);
+            cumulativeWeights[i] = sum;
+            stats.put(workloads[i], new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        LoadTest loadTest = new LoadTest(config);
+        try {
+            Map<String, Object> result = loadTest.run();
+            loadTest.report(result);
+        } finally {
+            loadTest.simpleDb.close();
+        }
+    }
+
+    public Map<String, Object> run() throws InterruptedException {
+        prepareTable();
+
+        CountDownLatch finished = new CountDownLatch(config.threads);
+        for (int i = 0; i < config.threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    if (config.openLoop) {
+                        openLoop();
+                    } else {
+                        closedLoop();
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            }, "loadTest-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        TimeUnit.SECONDS.sleep(config.warmupSeconds);
+        // 워밍업 구간 기록은 버림
+        stats.values().forEach(Stats::reset);
+        simpleDb.admission().resetMaxWait();
+        AdmissionController.AdmissionStats admissionBefore = simpleDb.admissionStats();
+        long measureStart = System.nanoTime();
+
+        TimeUnit.SECONDS.sleep(config.durationSeconds);
+        running = false;
+        long elapsedNanos = System.nanoTime() - measureStart;
+        AdmissionController.AdmissionStats admissionAfter = simpleDb.admissionStats();
+        finished.await(30, TimeUnit.SECONDS);
+
+        return result(elapsedNanos, admissionBefore, admissionAfter);
+    }
+
+    private void closedLoop() {
+        while (running) {
+            Workload workload = pick();
+            long start = System.nanoTime();
+            execute(workload, start);
+        }
+    }
+
+    private void openLoop() {
+        // 스레드마다 rate/threads 의 속도로 요청, 시작 시점은 흩뿌려서 몰림 방지
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) * (double) config.threads / config.rate);
+        long next = System.nanoTime() + ThreadLocalRandom.current().nextLong(intervalNanos);
+        while (running) {
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            execute(pick(), next);
+            next += intervalNanos;
+        }
+    }
+
+    private void execute(Workload workload, long intendedStartNanos) {
+        Stats workloadStats = stats.get(workload);
+        try {
+            workload.run(simpleDb, maxId.get());
+            if (workload == Workload.INSERT) maxId.incrementAndGet();
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+            workloadStats.latency.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        } catch (RuntimeException e) {
+            workloadStats.errors.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        }
+    }
+
+    private Workload pick() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) return workloads[i];
+        }
+        return workloads[workloads.length - 1];
+    }
+
+    private void prepareTable() {
+        simpleDb.run("""
+                CREATE TABLE IF NOT EXISTS article (
+                    id INT UNSIGNED NOT NULL AUTO_INCREMENT,
+                    PRIMARY KEY(id),
+                    createdDate DATETIME NOT NULL,
+                    modifiedDate DATETIME NOT NULL,
+                    title VARCHAR(100) NOT NULL,
+                    `body` TEXT NOT NULL,
+                    isBlind BIT(1) NOT NULL DEFAULT 0
+                )
+                """);
+
+        long count = simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong();
+        while (count < config.seedRows) {
+            int batch = (int) Math.min(500, config.seedRows - count);
+            SqlImpl sql = simpleDb.genSql().append("INSERT INTO article (createdDate, modifiedDate, title, body) VALUES");
+            for (int i = 0; i < batch; i++) {
+                sql.append((i == 0 ? "" : ",") + "(NOW(), NOW(), ?, ?)", "제목" + (count + i), "내용" + (count + i));
+            }
+            sql.insert();
+            count += batch;
+        }
+        maxId.set(simpleDb.genSql().append("SELECT MAX(id) FROM article").selectLong());
+    }
+
+    private Map<String, Object> result(long elapsedNanos, AdmissionController.AdmissionStats before,
+                                       AdmissionController.AdmissionStats after) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> workloadResults = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+
+        for (Workload workload : workloads) {
+            Stats workloadStats = stats.get(workload);
+            Histogram histogram = workloadStats.latency.getIntervalHistogram();
+            total.add(histogram);
+            Map<String, Long> errors = new TreeMap<>();
+            workloadStats.errors.forEach((type, count) -> errors.put(type, count.sum()));
+            totalErrors += errors.values().stream().mapToLong(Long::longValue).sum();
+
+            Map<String, Object> summary = summarize(histogram, seconds);
+            summary.put("errors", errors);
+            workloadResults.put(workload.key(), summary);
+        }
+
+        // 워밍업을 뺀 측정 구간의 값 (maxWait 은 워밍업 직후 초기화)
+        long admitted = after.admitted() - before.admitted();
+        long waitNanos = after.totalWaitNanos() - before.totalWaitNanos();
+        Map<String, Object> poolWait = new LinkedHashMap<>();
+        poolWait.put("admitted", admitted);
+        poolWait.put("queued", after.queued() - before.queued());
+        poolWait.put("rejectedQueueFull", after.rejectedQueueFull() - before.rejectedQueueFull());
+        poolWait.put("rejectedDeadline", after.rejectedDeadline() - before.rejectedDeadline());
+        poolWait.put("rejectedTimeout", after.rejectedTimeout() - before.rejectedTimeout());
+        poolWait.put("avgWaitMicros", admitted == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(waitNanos / admitted));
+        poolWait.put("maxWaitMicros", TimeUnit.NANOSECONDS.toMicros(after.maxWaitNanos()));
+        poolWait.put("finalConcurrencyLimit", after.limit());
+
+        Map<String, Object> totalSummary = summarize(total, seconds);
+        totalSummary.put("errors", totalErrors);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", config.label);
+        result.put("finishedAt", LocalDateTime.now());
+        result.put("config", config.toMap());
+        result.put("total", totalSummary);
+        result.put("workloads", workloadResults);
+        result.put("poolWait", poolWait);
+        return result;
+    }
+
+    private Map<String, Object> summarize(Histogram histogram, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("throughput", Math.round(histogram.getTotalCount() / seconds * 10) / 10.0);
+        summary.put("meanMicros", Math.round(histogram.getMean()));
+        summary.put("p50Micros", histogram.getValueAtPercentile(50));
+        summary.put("p99Micros", histogram.getValueAtPercentile(99));
+        summary.put("p999Micros", histogram.getValueAtPercentile(99.9));
+        summary.put("maxMicros", histogram.getMaxValue());
+        return summary;
+    }
+
+    private void report(Map<String, Object> result) throws IOException {
+        ObjectMapper om = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        File output = new File(config.output);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        om.writeValue(output, result);
+
+        System.out.println(om.writeValueAsString(result));
+        System.out.println("결과 저장: " + output.getAbsolutePath());
+    }
+
+    private static class Stats {
+        private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private void reset() {
+            latency.reset();
+            errors.clear();
+        }
+    }
+
+    public record Config(String host, int port, String dbName, String username, String password, String preset,
+                         int threads, boolean openLoop, double rate, int warmupSeconds, int durationSeconds,
+                         long seedRows, Map<Workload, Integer> mix, String label, String output) {
+
+        public Config {
+            if (threads < 1) {
+                throw new IllegalArgumentException("loadTest.threads 는 1 이상이어야 합니다: " + threads);
+            }
+            // 읽기/수정 workload 는 1 ~ MAX(id) 에서 id 를 고르므로 최소 한 행은 있어야 함
+            if (seedRows < 1) {
+                throw new IllegalArgumentException("loadTest.seedRows 는 1 이상이어야 합니다: " + seedRows);
+            }
+            if (openLoop && rate <= 0) {
+                throw new IllegalArgumentException("loadTest.rate 는 0 보다 커야 합니다: " + rate);
+            }
+        }
+
+        static Config fromSystemProperties() {
+            String label = property("label", "local");
+            return new Config(
+                    property("host", "localhost"),
+                    Integer.parseInt(property("port", "3306")),
+                    property("db", "simpleDb_test"),
+                    property("user", "root"),
+                    property("password", "1234"),
+                    property("preset", null),
+                    Integer.parseInt(property("threads", "200")),
+                    property("mode", "closed").equalsIgnoreCase("open"),
+                    Double.parseDouble(property("rate", "2000")),
+                    Integer.parseInt(property("warmupSeconds", "10")),
+                    Integer.parseInt(property("durationSeconds", "30")),
+                    Long.parseLong(property("seedRows", "10000")),
+                    parseMix(property("mix", "pointRead=70,rangeRead=20,insert=5,readModifyWrite=5")),
+                    label,
+                    property("output", "build/loadTest/result-" + label + ".json"));
+        }
+
+        private static String property(String name, String defaultValue) {
+            return System.getProperty("loadTest." + name, defaultValue);
+        }
+
+        // "pointRead=70,rangeRead=20" 형식
+        private static Map<Workload, Integer> parseMix(String value) {
+            Map<Workload, Integer> mix = new EnumMap<>(Workload.class);
+            for (String entry : value.split(",")) {
+                String[] pair = entry.trim().split("=");
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight > 0) {
+                    mix.put(Workload.of(pair[0].trim()), weight);
+                }
+            }
+            if (mix.isEmpty()) {
+                throw new IllegalArgumentException("workload mix 가 비어 있습니다: " + value);
+            }
+            return mix;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("host", host);
+            map.put("preset", preset == null ? "default" : preset);
+            map.put("threads", threads);
+            map.put("mode", openLoop ? "open" : "closed");
+            if (openLoop) map.put("rate", rate);
+            map.put("warmupSeconds", warmupSeconds);
+            map.put("durationSeconds", durationSeconds);
+            map.put("seedRows", seedRows);
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            mix.forEach((workload, weight) -> weights.put(workload.key(), weight));
+            map.put("mix", weights);
+            return map;
+        }
+    }
+}
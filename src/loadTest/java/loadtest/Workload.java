@@ -0,0 +1,84 @@
+package loadtest;
+
+import entity.Article;
+import simpleDb.SimpleDb;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 부하 테스트에서 섞어서 실행할 작업 종류
+public enum Workload {
+    POINT_READ("pointRead") {
+        void run(SimpleDb simpleDb, long maxId) {
+            Article article = simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("WHERE id = ?", randomId(maxId))
+                    .selectRow(Article.class);
+            if (article.getId() == null) throw new IllegalStateException("빈 결과");
+        }
+    },
+    RANGE_READ("rangeRead") {
+        void run(SimpleDb simpleDb, long maxId) {
+            long from = randomId(maxId);
+            List<Article> articles = simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("WHERE id BETWEEN ? AND ?", from, from + RANGE_SIZE)
+                    .append("ORDER BY id ASC")
+                    .selectRows(Article.class);
+            if (articles.isEmpty()) throw new IllegalStateException("빈 결과");
+        }
+    },
+    INSERT("insert") {
+        void run(SimpleDb simpleDb, long maxId) {
+            simpleDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "부하 제목")
+                    .append(", body = ?", "부하 내용")
+                    .insert();
+        }
+    },
+    READ_MODIFY_WRITE("readModifyWrite") {
+        void run(SimpleDb simpleDb, long maxId) {
+            long id = randomId(maxId);
+            // 실패하면 inTransaction 이 롤백 (commit 실패 후 다시 rollback 을 부르지 않음)
+            simpleDb.inTransaction(transaction -> {
+                Article article = simpleDb.genSql()
+                        .append("SELECT * FROM article")
+                        .append("WHERE id = ? FOR UPDATE", id)
+                        .selectRow(Article.class);
+                return simpleDb.genSql()
+                        .append("UPDATE article")
+                        .append("SET title = ?, modifiedDate = NOW()", article.getTitle().length() > 50 ? "제목" : article.getTitle() + "!")
+                        .append("WHERE id = ?", id)
+                        .update();
+            });
+        }
+    };
+
+    private static final int RANGE_SIZE = 20;
+
+    private final String key;
+
+    Workload(String key) {
+        this.key = key;
+    }
+
+    abstract void run(SimpleDb simpleDb, long maxId);
+
+    public String key() {
+        return key;
+    }
+
+    public static Workload of(String key) {
+        for (Workload workload : values()) {
+            if (workload.key.equalsIgnoreCase(key)) return workload;
+        }
+        throw new IllegalArgumentException("알 수 없는 workload: " + key);
+    }
+
+    private static long randomId(long maxId) {
+        return ThreadLocalRandom.current().nextLong(1, maxId + 1);
+    }
+}
@@ -1,6 +1,7 @@
 package entity;
 
 import lombok.Data;
+import simpleDb.Lazy;
 
 import java.time.LocalDateTime;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 public class Article {
     private Long id;
     private String title;
+    @Lazy
     private String Body;
     private LocalDateTime createdDate;
     private LocalDateTime modifiedDate;
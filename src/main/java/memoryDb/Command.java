@@ -0,0 +1,342 @@
+package memoryDb;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Types;
+import java.util.*;
+
+// 파싱된 SQL 문장 하나 (불변, 같은 SQL 은 재사용)
+interface Command {
+    QueryResult execute(Session session, EvalContext context) throws SQLException;
+
+    default boolean isQuery() {
+        return false;
+    }
+
+    default boolean isDdl() {
+        return false;
+    }
+
+    // 기존 행을 읽고 고치는 문장이 잠그는 테이블 (트랜잭션이면 끝날 때까지, 아니면 문장 동안)
+    default String lockedTable() {
+        return null;
+    }
+
+    record CreateTable(String table, boolean ifNotExists, List<MemoryTable.Column> columns, String primaryKey) implements Command {
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            MemoryDatabase database = session.database();
+            if (database.findTable(table) != null) {
+                if (ifNotExists) return QueryResult.updated(0);
+                throw new SQLSyntaxErrorException("Table '" + table + "' already exists", "42S01", 1050);
+            }
+
+            int primaryKeyIndex = -1;
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).name().equalsIgnoreCase(primaryKey)) primaryKeyIndex = i;
+            }
+            if (primaryKey != null && primaryKeyIndex < 0) {
+                throw new SQLSyntaxErrorException("Key column '" + primaryKey + "' doesn't exist in table", "42000", 1072);
+            }
+            database.putTable(new MemoryTable(table, columns, primaryKeyIndex));
+            return QueryResult.updated(0);
+        }
+
+        public boolean isDdl() {
+            return true;
+        }
+    }
+
+    record DropTable(List<String> tables, boolean ifExists) implements Command {
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            for (String table : tables) {
+                if (session.database().removeTable(table) == null && !ifExists) {
+                    throw new SQLSyntaxErrorException("Unknown table '" + table + "'", "42S02", 1051);
+                }
+            }
+            return QueryResult.updated(0);
+        }
+
+        public boolean isDdl() {
+            return true;
+        }
+    }
+
+    record Truncate(String table) implements Command {
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            session.database().table(table).clear();
+            return QueryResult.updated(0);
+        }
+
+        public boolean isDdl() {
+            return true;
+        }
+    }
+
+    record Assignment(String column, Expression value) {
+    }
+
+    // columns 가 비어 있으면 테이블 컬럼 순서대로
+    record Insert(String table, List<String> columns, List<List<Expression>> rows, List<Assignment> onDuplicate,
+                  boolean ignore) implements Command {
+        public String lockedTable() {
+            return onDuplicate.isEmpty() ? null : table;
+        }
+
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            MemoryTable target = session.table(table);
+            context.table = target;
+
+            List<Integer> indexes = new ArrayList<>();
+            if (columns.isEmpty()) {
+                for (int i = 0; i < target.columns.size(); i++) indexes.add(i);
+            } else {
+                for (String column : columns) indexes.add(target.columnIndex(column));
+            }
+
+            int affected = 0;
+            List<Long> generatedKeys = new ArrayList<>();
+            for (List<Expression> values : rows) {
+                if (values.size() != indexes.size()) {
+                    throw new SQLException("Column count doesn't match value count at row " + (rows.indexOf(values) + 1), "21S01", 1136);
+                }
+
+                Object[] provided = new Object[target.width()];
+                boolean[] present = new boolean[target.width()];
+                context.row = null;
+                for (int i = 0; i < indexes.size(); i++) {
+                    int index = indexes.get(i);
+                    provided[index] = values.get(i).evaluate(context);
+                    present[index] = true;
+                }
+                Object[] row = Rows.complete(target, provided, present, context);
+
+                Object[] existing = target.get(target.keyOf(row));
+                if (existing == null) {
+                    Long generated = Rows.assignKey(target, row);
+                    session.put(target, target.keyOf(row), row);
+                    if (generated != null) generatedKeys.add(generated);
+                    affected++;
+                    continue;
+                }
+
+                if (onDuplicate.isEmpty()) {
+                    if (ignore) continue;
+                    throw new SQLIntegrityConstraintViolationException(
+                            "Duplicate entry '" + Values.toText(target.keyOf(row)) + "' for key '" + target.name + ".PRIMARY'", "23000", 1062);
+                }
+
+                // 바뀐 게 있으면 2, 그대로면 1 (CLIENT_FOUND_ROWS)
+                context.insertValues = row;
+                Object[] updated = Rows.assign(target, existing, onDuplicate, context);
+                context.insertValues = null;
+                if (!Arrays.equals(updated, existing)) {
+                    Rows.replace(session, target, existing, updated);
+                    affected += 2;
+                } else {
+                    affected += 1;
+                }
+            }
+            return QueryResult.updated(affected, generatedKeys);
+        }
+    }
+
+    record Update(String table, List<Assignment> assignments, Expression where, List<Order> orderBy, Expression limit) implements Command {
+        public String lockedTable() {
+            return table;
+        }
+
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            MemoryTable target = session.table(table);
+            context.table = target;
+
+            List<Object[]> matched = Rows.limit(Rows.sort(Plan.matching(target, where, context), orderBy, context), null, limit, context);
+            for (Object[] row : matched) {
+                context.row = row;
+                Object[] updated = Rows.assign(target, row, assignments, context);
+                if (!Arrays.equals(updated, row)) {
+                    Rows.replace(session, target, row, updated);
+                }
+            }
+            // CLIENT_FOUND_ROWS: 조건에 맞은 행 수
+            return QueryResult.updated(matched.size());
+        }
+    }
+
+    record Delete(String table, Expression where, List<Order> orderBy, Expression limit) implements Command {
+        public String lockedTable() {
+            return table;
+        }
+
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            MemoryTable target = session.table(table);
+            context.table = target;
+
+            List<Object[]> matched = Rows.limit(Rows.sort(Plan.matching(target, where, context), orderBy, context), null, limit, context);
+            for (Object[] row : matched) {
+                session.remove(target, target.keyOf(row));
+            }
+            return QueryResult.updated(matched.size());
+        }
+    }
+
+    record Order(Expression expression, boolean descending) {
+    }
+
+    // expression 이 null 이면 * (모든 컬럼)
+    record SelectItem(Expression expression, String label) {
+    }
+
+    record Select(List<SelectItem> items, String table, Expression where, List<Expression> groupBy, Expression having,
+                  List<Order> orderBy, Expression limit, Expression offset, boolean forUpdate) implements Command {
+        public QueryResult execute(Session session, EvalContext context) throws SQLException {
+            MemoryTable source = table == null ? null : session.table(table);
+            context.table = source;
+
+            List<Expression> expressions = new ArrayList<>();
+            List<String> labels = new ArrayList<>();
+            List<Integer> types = new ArrayList<>();
+            for (SelectItem item : items) {
+                if (item.expression() == null) {
+                    if (source == null) throw new SQLException("No tables used", "HY000", 1096);
+                    for (MemoryTable.Column column : source.columns) {
+                        expressions.add(new Expression.ColumnRef(column.name()));
+                        labels.add(column.name());
+                        types.add(column.type().sqlType);
+                    }
+                } else {
+                    expressions.add(item.expression());
+                    labels.add(item.label());
+                    types.add(staticType(source, item.expression()));
+                }
+            }
+
+            boolean aggregate = !groupBy.isEmpty() || having != null
+                    || expressions.stream().anyMatch(Expression::containsAggregate);
+
+            // 출력 행마다 원본 행(또는 그룹)을 같이 들고 있다가 ORDER BY 에 사용
+            List<Output> outputs = new ArrayList<>();
+            if (aggregate) {
+                List<Object[]> rows = source == null ? List.of() : Plan.matching(source, where, context);
+                for (List<Object[]> group : group(rows, context)) {
+                    context.group = group;
+                    context.row = group.isEmpty() ? null : group.get(0);
+                    if (having != null && !Boolean.TRUE.equals(Values.truth(having.evaluate(context)))) continue;
+                    outputs.add(project(expressions, context));
+                }
+            } else if (source == null) {
+                context.row = null;
+                if (where == null || Boolean.TRUE.equals(Values.truth(where.evaluate(context)))) {
+                    outputs.add(project(expressions, context));
+                }
+            } else {
+                int scanned = 0;
+                for (Object[] row : Plan.matching(source, where, context)) {
+                    if (++scanned % 1024 == 0) context.checkCancelled();
+                    context.row = row;
+                    outputs.add(project(expressions, context));
+                }
+            }
+
+            if (!orderBy.isEmpty()) {
+                List<Object[]> keys = new ArrayList<>(outputs.size());
+                for (Output output : outputs) {
+                    context.row = output.row();
+                    context.group = output.group();
+                    Object[] key = new Object[orderBy.size()];
+                    for (int i = 0; i < orderBy.size(); i++) {
+                        key[i] = orderValue(orderBy.get(i).expression(), output, labels, context);
+                    }
+                    keys.add(key);
+                }
+                Integer[] positions = new Integer[outputs.size()];
+                for (int i = 0; i < positions.length; i++) positions[i] = i;
+                Arrays.sort(positions, (a, b) -> Rows.compareKeys(keys.get(a), keys.get(b), orderBy));
+                List<Output> sorted = new ArrayList<>(outputs.size());
+                for (Integer position : positions) sorted.add(outputs.get(position));
+                outputs = sorted;
+            }
+
+            List<Object[]> rows = new ArrayList<>(outputs.size());
+            for (Output output : outputs) rows.add(output.values());
+            rows = Rows.limit(rows, offset, limit, context);
+
+            int[] resolvedTypes = new int[types.size()];
+            for (int i = 0; i < resolvedTypes.length; i++) {
+                resolvedTypes[i] = types.get(i) != Types.NULL ? types.get(i) : inferType(rows, i);
+            }
+            return QueryResult.rows(labels, resolvedTypes, rows);
+        }
+
+        public boolean isQuery() {
+            return true;
+        }
+
+        public String lockedTable() {
+            return forUpdate ? table : null;
+        }
+
+        private static Output project(List<Expression> expressions, EvalContext context) throws SQLException {
+            Object[] values = new Object[expressions.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = expressions.get(i).evaluate(context);
+            }
+            return new Output(values, context.row, context.group);
+        }
+
+        private List<List<Object[]>> group(List<Object[]> rows, EvalContext context) throws SQLException {
+            if (groupBy.isEmpty()) {
+                return List.of(rows);
+            }
+            Map<List<Object>, List<Object[]>> groups = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                context.row = row;
+                List<Object> key = new ArrayList<>(groupBy.size());
+                for (Expression expression : groupBy) {
+                    Object value = expression.evaluate(context);
+                    key.add(value instanceof String text ? text.toLowerCase() : value);
+                }
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+            return new ArrayList<>(groups.values());
+        }
+
+        // ORDER BY 는 컬럼 위치(ORDER BY 1), 별칭, 원본 식 순으로 찾음
+        private static Object orderValue(Expression expression, Output output, List<String> labels, EvalContext context) throws SQLException {
+            if (expression instanceof Expression.Literal literal && literal.value() instanceof Long position) {
+                if (position < 1 || position > labels.size()) {
+                    throw new SQLSyntaxErrorException("Unknown column '" + position + "' in 'order clause'", "42S22", 1054);
+                }
+                return output.values()[(int) (position - 1)];
+            }
+            if (expression instanceof Expression.ColumnRef column) {
+                for (int i = 0; i < labels.size(); i++) {
+                    if (labels.get(i).equalsIgnoreCase(column.name())) {
+                        return output.values()[i];
+                    }
+                }
+            }
+            return expression.evaluate(context);
+        }
+
+        private static int staticType(MemoryTable source, Expression expression) {
+            if (expression instanceof Expression.ColumnRef column && source != null && source.hasColumn(column.name())) {
+                return source.columns.get(source.columnIndex(column.name())).type().sqlType;
+            }
+            if (expression instanceof Expression.Aggregate aggregate && aggregate.name().equals("COUNT")) {
+                return Types.BIGINT;
+            }
+            return Types.NULL;
+        }
+
+        private static int inferType(List<Object[]> rows, int column) {
+            for (Object[] row : rows) {
+                if (row[column] != null) return QueryResult.typeOf(row[column]);
+            }
+            return Types.VARCHAR;
+        }
+
+        private record Output(Object[] values, Object[] row, List<Object[]> group) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package memoryDb;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// 식 평가에 필요한 현재 행/그룹/파라미터, 그리고 문장 취소 상태
+final class EvalContext {
+    final Object[] params;
+    // NOW() 는 문장 안에서 같은 값 (초 단위)
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final Cancellation cancellation;
+
+    MemoryTable table;
+    Object[] row;
+    // 집계 쿼리에서 현재 그룹의 행들
+    List<Object[]> group;
+    // INSERT ... ON DUPLICATE KEY UPDATE 의 VALUES(col) 이 가리키는 새 행
+    Object[] insertValues;
+
+    EvalContext(Object[] params, Cancellation cancellation) {
+        this.params = params;
+        this.cancellation = cancellation;
+    }
+
+    Object column(String name) {
+        if (table == null || row == null) {
+            throw new IllegalArgumentException("Unknown column '" + name + "' in 'field list'");
+        }
+        return row[table.columnIndex(name)];
+    }
+
+    void checkCancelled() throws SQLException {
+        cancellation.check();
+    }
+
+    // Statement.cancel() / setQueryTimeout 상태, 긴 연산(SLEEP, 큰 스캔) 중간에 확인
+    static final class Cancellation {
+        private volatile boolean cancelled;
+        private volatile long deadlineNanos;
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        void reset(int timeoutSeconds) {
+            cancelled = false;
+            deadlineNanos = timeoutSeconds > 0 ? System.nanoTime() + timeoutSeconds * 1_000_000_000L : 0;
+        }
+
+        void check() throws SQLException {
+            if (cancelled) {
+                throw new SQLException("Query execution was interrupted", "70100", 1317);
+            }
+            if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0) {
+                throw new SQLTimeoutException("Statement cancelled due to timeout or client request");
+            }
+        }
+    }
+}
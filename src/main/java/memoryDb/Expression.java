@@ -0,0 +1,314 @@
+package memoryDb;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.regex.Pattern;
+
+// WHERE/SELECT/SET 에 쓰이는 식, NULL 은 MySQL 처럼 3값 논리
+interface Expression {
+    Object evaluate(EvalContext context) throws SQLException;
+
+    default boolean containsAggregate() {
+        return false;
+    }
+
+    record Literal(Object value) implements Expression {
+        public Object evaluate(EvalContext context) {
+            return value;
+        }
+    }
+
+    record Param(int index) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            if (index >= context.params.length) {
+                throw new SQLException("No value specified for parameter " + (index + 1));
+            }
+            return context.params[index];
+        }
+    }
+
+    record ColumnRef(String name) implements Expression {
+        public Object evaluate(EvalContext context) {
+            return context.column(name);
+        }
+    }
+
+    record Interval(Expression amount, ChronoUnit unit) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            Object value = amount.evaluate(context);
+            return value == null ? null : new IntervalValue(Values.toLong(value), unit);
+        }
+    }
+
+    record IntervalValue(long amount, ChronoUnit unit) {
+    }
+
+    record Binary(String operator, Expression left, Expression right) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            switch (operator) {
+                case "AND" -> {
+                    Boolean a = Values.truth(left.evaluate(context));
+                    if (Boolean.FALSE.equals(a)) return 0L;
+                    Boolean b = Values.truth(right.evaluate(context));
+                    if (Boolean.FALSE.equals(b)) return 0L;
+                    return a == null || b == null ? null : 1L;
+                }
+                case "OR" -> {
+                    Boolean a = Values.truth(left.evaluate(context));
+                    if (Boolean.TRUE.equals(a)) return 1L;
+                    Boolean b = Values.truth(right.evaluate(context));
+                    if (Boolean.TRUE.equals(b)) return 1L;
+                    return a == null || b == null ? null : 0L;
+                }
+            }
+
+            Object a = left.evaluate(context);
+            Object b = right.evaluate(context);
+            if (operator.equals("<=>")) {
+                return (a == null || b == null ? a == b : Values.compare(a, b) == 0) ? 1L : 0L;
+            }
+            if (a == null || b == null) return null;
+
+            if (b instanceof IntervalValue interval && (operator.equals("+") || operator.equals("-"))) {
+                LocalDateTime dateTime = Values.toDateTime(a);
+                return operator.equals("+") ? dateTime.plus(interval.amount(), interval.unit())
+                        : dateTime.minus(interval.amount(), interval.unit());
+            }
+
+            return switch (operator) {
+                case "=" -> Values.compare(a, b) == 0 ? 1L : 0L;
+                case "!=", "<>" -> Values.compare(a, b) != 0 ? 1L : 0L;
+                case "<" -> Values.compare(a, b) < 0 ? 1L : 0L;
+                case "<=" -> Values.compare(a, b) <= 0 ? 1L : 0L;
+                case ">" -> Values.compare(a, b) > 0 ? 1L : 0L;
+                case ">=" -> Values.compare(a, b) >= 0 ? 1L : 0L;
+                default -> Values.arithmetic(operator.charAt(0), a, b);
+            };
+        }
+
+        public boolean containsAggregate() {
+            return left.containsAggregate() || right.containsAggregate();
+        }
+    }
+
+    record Not(Expression operand) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            Boolean value = Values.truth(operand.evaluate(context));
+            return value == null ? null : value ? 0L : 1L;
+        }
+
+        public boolean containsAggregate() {
+            return operand.containsAggregate();
+        }
+    }
+
+    record Negate(Expression operand) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            Object value = operand.evaluate(context);
+            return value == null ? null : Values.arithmetic('-', 0L, value);
+        }
+
+        public boolean containsAggregate() {
+            return operand.containsAggregate();
+        }
+    }
+
+    record IsNull(Expression operand, boolean negated) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            return (operand.evaluate(context) == null) != negated ? 1L : 0L;
+        }
+    }
+
+    record In(Expression operand, List<Expression> values, boolean negated) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            Object value = operand.evaluate(context);
+            if (value == null) return null;
+            boolean sawNull = false;
+            for (Expression expression : values) {
+                Object candidate = expression.evaluate(context);
+                if (candidate == null) {
+                    sawNull = true;
+                } else if (Values.compare(value, candidate) == 0) {
+                    return negated ? 0L : 1L;
+                }
+            }
+            return sawNull ? null : negated ? 1L : 0L;
+        }
+    }
+
+    record Between(Expression operand, Expression low, Expression high, boolean negated) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            Object value = operand.evaluate(context);
+            Object from = low.evaluate(context);
+            Object to = high.evaluate(context);
+            if (value == null || from == null || to == null) return null;
+            boolean between = Values.compare(value, from) >= 0 && Values.compare(value, to) <= 0;
+            return between != negated ? 1L : 0L;
+        }
+    }
+
+    record Like(Expression operand, Expression pattern, boolean negated) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            Object value = operand.evaluate(context);
+            Object like = pattern.evaluate(context);
+            if (value == null || like == null) return null;
+            boolean matches = toRegex(Values.toText(like)).matcher(Values.toText(value)).matches();
+            return matches != negated ? 1L : 0L;
+        }
+
+        private static Pattern toRegex(String like) {
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < like.length(); i++) {
+                char c = like.charAt(i);
+                if (c == '\\' && i + 1 < like.length()) {
+                    regex.append(Pattern.quote(String.valueOf(like.charAt(++i))));
+                } else if (c == '%') {
+                    regex.append(".*");
+                } else if (c == '_') {
+                    regex.append('.');
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+        }
+    }
+
+    record Function(String name, List<Expression> arguments) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            switch (name) {
+                case "NOW", "CURRENT_TIMESTAMP", "SYSDATE", "LOCALTIMESTAMP" -> {
+                    return context.now;
+                }
+                case "CURDATE", "CURRENT_DATE" -> {
+                    return java.sql.Date.valueOf(context.now.toLocalDate());
+                }
+                case "SLEEP" -> {
+                    return sleep(context, Values.toDecimal(argument(context, 0)));
+                }
+                case "VALUES" -> {
+                    if (context.insertValues == null) return null;
+                    String column = ((ColumnRef) arguments.get(0)).name();
+                    return context.insertValues[context.table.columnIndex(column)];
+                }
+                case "IFNULL", "COALESCE" -> {
+                    for (Expression argument : arguments) {
+                        Object value = argument.evaluate(context);
+                        if (value != null) return value;
+                    }
+                    return null;
+                }
+                case "IF" -> {
+                    return Boolean.TRUE.equals(Values.truth(argument(context, 0))) ? argument(context, 1) : argument(context, 2);
+                }
+                case "FIELD" -> {
+                    Object value = argument(context, 0);
+                    if (value == null) return 0L;
+                    for (int i = 1; i < arguments.size(); i++) {
+                        Object candidate = argument(context, i);
+                        if (candidate != null && Values.compare(value, candidate) == 0) return (long) i;
+                    }
+                    return 0L;
+                }
+            }
+
+            List<Object> values = new ArrayList<>(arguments.size());
+            for (Expression argument : arguments) {
+                Object value = argument.evaluate(context);
+                // 나머지 함수는 인자 중 NULL 이 있으면 NULL
+                if (value == null) return null;
+                values.add(value);
+            }
+
+            return switch (name) {
+                case "CONCAT" -> {
+                    StringBuilder concatenated = new StringBuilder();
+                    values.forEach(value -> concatenated.append(Values.toText(value)));
+                    yield concatenated.toString();
+                }
+                case "LOWER", "LCASE" -> Values.toText(values.get(0)).toLowerCase();
+                case "UPPER", "UCASE" -> Values.toText(values.get(0)).toUpperCase();
+                case "LENGTH", "OCTET_LENGTH" -> (long) Values.toText(values.get(0)).getBytes(StandardCharsets.UTF_8).length;
+                case "CHAR_LENGTH", "CHARACTER_LENGTH" -> (long) Values.toText(values.get(0)).codePointCount(0, Values.toText(values.get(0)).length());
+                case "ABS" -> Values.toDecimal(values.get(0)).abs();
+                case "DATE" -> java.sql.Date.valueOf(Values.toDateTime(values.get(0)).toLocalDate());
+                default -> throw new SQLException("FUNCTION " + name + " does not exist", "42000", 1305);
+            };
+        }
+
+        private Object argument(EvalContext context, int index) throws SQLException {
+            if (index >= arguments.size()) {
+                throw new SQLException("Incorrect parameter count in the call to native function '" + name + "'", "42000", 1582);
+            }
+            return arguments.get(index).evaluate(context);
+        }
+
+        // 짧게 나눠 자면서 cancel/timeout 을 확인
+        private static Object sleep(EvalContext context, BigDecimal seconds) throws SQLException {
+            long deadline = System.nanoTime() + seconds.movePointRight(9).longValue();
+            try {
+                while (System.nanoTime() - deadline < 0) {
+                    context.checkCancelled();
+                    Thread.sleep(Math.max(1, Math.min(10, (deadline - System.nanoTime()) / 1_000_000)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Query execution was interrupted", "70100", 1317);
+            }
+            return 0L;
+        }
+
+        public boolean containsAggregate() {
+            return arguments.stream().anyMatch(Expression::containsAggregate);
+        }
+    }
+
+    // COUNT/SUM/AVG/MIN/MAX, argument 가 null 이면 COUNT(*)
+    record Aggregate(String name, Expression argument, boolean distinct) implements Expression {
+        public Object evaluate(EvalContext context) throws SQLException {
+            List<Object[]> group = context.group != null ? context.group : List.of();
+            Object[] current = context.row;
+            try {
+                if (argument == null) {
+                    return (long) group.size();
+                }
+
+                List<Object> values = new ArrayList<>();
+                for (Object[] row : group) {
+                    context.row = row;
+                    Object value = argument.evaluate(context);
+                    if (value != null) values.add(value);
+                }
+                if (distinct) {
+                    TreeSet<Object> unique = new TreeSet<>(Values::compare);
+                    unique.addAll(values);
+                    values = new ArrayList<>(unique);
+                }
+
+                return switch (name) {
+                    case "COUNT" -> (long) values.size();
+                    case "SUM" -> values.isEmpty() ? null : values.stream().map(Values::toDecimal).reduce(BigDecimal.ZERO, BigDecimal::add);
+                    case "AVG" -> {
+                        if (values.isEmpty()) yield null;
+                        BigDecimal sum = values.stream().map(Values::toDecimal).reduce(BigDecimal.ZERO, BigDecimal::add);
+                        yield sum.divide(BigDecimal.valueOf(values.size()), sum.scale() + 4, RoundingMode.HALF_UP);
+                    }
+                    case "MIN" -> values.stream().min(Values::compare).orElse(null);
+                    case "MAX" -> values.stream().max(Values::compare).orElse(null);
+                    default -> throw new SQLException("FUNCTION " + name + " does not exist", "42000", 1305);
+                };
+            } finally {
+                context.row = current;
+            }
+        }
+
+        public boolean containsAggregate() {
+            return true;
+        }
+    }
+}
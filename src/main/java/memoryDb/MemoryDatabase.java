@@ -0,0 +1,131 @@
+package memoryDb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.SQLTransactionRollbackException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 프로세스 안에서 도는 메모리 DB 스키마 하나 (테스트/로컬 개발용)
+// 스키마 이름별로 독립이라 테스트 클래스마다 다른 이름을 쓰면 병렬 실행 가능
+public class MemoryDatabase {
+    private static final Map<String, MemoryDatabase> schemas = new ConcurrentHashMap<>();
+    // IN (?, ?, ...) 처럼 길이가 바뀌는 SQL 이 많아도 파싱 결과가 무한히 쌓이지 않도록 최근 것만 유지
+    private static final int MAX_PARSED = 1024;
+    // MySQL innodb_lock_wait_timeout 기본값
+    private static final Duration LOCK_WAIT_TIMEOUT = Duration.ofSeconds(50);
+
+    private final String name;
+    private final Map<String, MemoryTable> tables = new ConcurrentHashMap<>();
+    // 자동 커밋 문장: 조회는 read lock, 변경/DDL 은 write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 같은 SQL 은 한 번만 파싱 (LRU)
+    private final Map<String, Command> parsed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<String, Command> eldest) {
+            return size() > MAX_PARSED;
+        }
+    });
+    // 트랜잭션이 commit/rollback 할 때까지 잡는 테이블 잠금 (SELECT ... FOR UPDATE, UPDATE, DELETE)
+    // 커넥션을 여러 스레드가 번갈아 쓰므로 스레드 소유가 없는 Semaphore 사용
+    private final Map<String, Semaphore> tableLocks = new ConcurrentHashMap<>();
+    // open 으로 사용 중인 SimpleDb 수, 0 이 되면 스키마 제거 (schemas.compute 안에서만 변경)
+    private int users;
+
+    private MemoryDatabase(String name) {
+        this.name = name;
+    }
+
+    public static MemoryDatabase named(String name) {
+        return schemas.computeIfAbsent(name, MemoryDatabase::new);
+    }
+
+    // close 때 release 로 돌려주면 마지막 사용자가 놓을 때 스키마를 지움
+    public static MemoryDatabase open(String name) {
+        return schemas.compute(name, (key, database) -> {
+            MemoryDatabase opened = database == null ? new MemoryDatabase(key) : database;
+            opened.users++;
+            return opened;
+        });
+    }
+
+    public static void release(String name) {
+        schemas.computeIfPresent(name, (key, database) -> --database.users > 0 ? database : null);
+    }
+
+    public static void drop(String name) {
+        schemas.remove(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Connection connect() {
+        return MemoryJdbc.connection(new Session(this));
+    }
+
+    Command parse(String sql) throws SQLException {
+        Command command = parsed.get(sql);
+        if (command == null) {
+            try {
+                command = new SqlParser(sql).parse();
+            } catch (IllegalArgumentException e) {
+                throw new SQLSyntaxErrorException(e.getMessage() + " (sql: " + sql.strip() + ")", "42000", 1064, e);
+            }
+            parsed.put(sql, command);
+        }
+        return command;
+    }
+
+    ReentrantReadWriteLock lock() {
+        return lock;
+    }
+
+    void lockTable(String table, EvalContext context) throws SQLException {
+        Semaphore tableLock = tableLocks.computeIfAbsent(table.toLowerCase(), key -> new Semaphore(1));
+        long deadline = System.nanoTime() + LOCK_WAIT_TIMEOUT.toNanos();
+        try {
+            // 기다리는 동안에도 Statement.cancel()/쿼리 타임아웃을 지킴
+            while (!tableLock.tryAcquire(10, TimeUnit.MILLISECONDS)) {
+                context.checkCancelled();
+                if (System.nanoTime() - deadline > 0) {
+                    throw new SQLTransactionRollbackException("Lock wait timeout exceeded; try restarting transaction", "40001", 1205);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Query execution was interrupted", "70100", 1317, e);
+        }
+    }
+
+    void unlockTable(String table) {
+        tableLocks.get(table.toLowerCase()).release();
+    }
+
+    MemoryTable table(String table) throws SQLException {
+        MemoryTable found = tables.get(table.toLowerCase());
+        if (found == null) {
+            throw new SQLSyntaxErrorException("Table '" + name + "." + table + "' doesn't exist", "42S02", 1146);
+        }
+        return found;
+    }
+
+    MemoryTable findTable(String table) {
+        return tables.get(table.toLowerCase());
+    }
+
+    void putTable(MemoryTable table) {
+        tables.put(table.name.toLowerCase(), table);
+    }
+
+    MemoryTable removeTable(String table) {
+        return tables.remove(table.toLowerCase());
+    }
+}
@@ -0,0 +1,406 @@
+package memoryDb;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// SimpleDbImpl 이 쓰는 만큼의 JDBC (Connection/PreparedStatement/ResultSet) 를 메모리 DB 위에 구현
+// 인터페이스 메서드가 많아 동적 프록시로 필요한 것만 처리하고, 나머지는 SQLFeatureNotSupportedException
+final class MemoryJdbc {
+    private MemoryJdbc() {
+    }
+
+    static Connection connection(Session session) {
+        return proxy(Connection.class, new ConnectionHandler(session));
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        T proxy = type.cast(Proxy.newProxyInstance(MemoryJdbc.class.getClassLoader(), new Class<?>[]{type}, handler));
+        handler.self = proxy;
+        return proxy;
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        Object self;
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] arguments = args == null ? new Object[0] : args;
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == arguments[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+                case "unwrap" -> {
+                    return ((Class<?>) arguments[0]).cast(proxy);
+                }
+                case "isWrapperFor" -> {
+                    return ((Class<?>) arguments[0]).isInstance(proxy);
+                }
+                case "getWarnings" -> {
+                    return null;
+                }
+                case "clearWarnings" -> {
+                    return null;
+                }
+            }
+            return handle(method, arguments);
+        }
+
+        abstract Object handle(Method method, Object[] args) throws SQLException;
+
+        SQLException unsupported(Method method) {
+            return new SQLFeatureNotSupportedException(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        }
+    }
+
+    private static final class ConnectionHandler extends Handler {
+        private final Session session;
+        private boolean closed;
+
+        ConnectionHandler(Session session) {
+            this.session = session;
+        }
+
+        synchronized Object handle(Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            if (closed && !name.equals("isClosed") && !name.equals("close") && !name.equals("isValid")) {
+                throw new SQLNonTransientConnectionException("No operations allowed after connection closed.", "08003");
+            }
+            return switch (name) {
+                case "prepareStatement" -> {
+                    boolean returnKeys = args.length > 1 && args[1] instanceof Integer flag && flag == Statement.RETURN_GENERATED_KEYS;
+                    yield proxy(PreparedStatement.class, new StatementHandler(this, (String) args[0], returnKeys));
+                }
+                case "setAutoCommit" -> {
+                    session.setAutoCommit((Boolean) args[0]);
+                    yield null;
+                }
+                case "getAutoCommit" -> session.getAutoCommit();
+                case "commit" -> {
+                    session.commit();
+                    yield null;
+                }
+                case "rollback" -> {
+                    if (args.length > 0) throw unsupported(method);
+                    session.rollback();
+                    yield null;
+                }
+                case "close" -> {
+                    if (!closed) session.rollback();
+                    closed = true;
+                    yield null;
+                }
+                case "isClosed" -> closed;
+                case "isValid" -> !closed;
+                case "isReadOnly" -> false;
+                case "setReadOnly", "setTransactionIsolation", "setHoldability", "setCatalog", "setSchema" -> null;
+                case "getTransactionIsolation" -> Connection.TRANSACTION_REPEATABLE_READ;
+                case "getCatalog", "getSchema" -> session.database().getName();
+                case "nativeSQL" -> args[0];
+                default -> throw unsupported(method);
+            };
+        }
+
+        synchronized QueryResult execute(String sql, Object[] params, EvalContext.Cancellation cancellation) throws SQLException {
+            if (closed) {
+                throw new SQLNonTransientConnectionException("No operations allowed after connection closed.", "08003");
+            }
+            return session.execute(sql, params, cancellation);
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+        private final ConnectionHandler connection;
+        private final String sql;
+        private final boolean returnKeys;
+        private final List<Object> params = new ArrayList<>();
+        private final List<Object[]> batch = new ArrayList<>();
+        private final EvalContext.Cancellation cancellation = new EvalContext.Cancellation();
+        private int queryTimeout;
+        private QueryResult last;
+        private boolean closed;
+
+        StatementHandler(ConnectionHandler connection, String sql, boolean returnKeys) {
+            this.connection = connection;
+            this.sql = sql;
+            this.returnKeys = returnKeys;
+        }
+
+        Object handle(Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            // cancel 은 다른 스레드(StatementCanceller)에서 실행 중에 호출됨
+            if (name.equals("cancel")) {
+                cancellation.cancel();
+                return null;
+            }
+
+            synchronized (this) {
+                if (closed && !name.equals("isClosed") && !name.equals("close")) {
+                    throw new SQLException("No operations allowed after statement closed.", "S1009");
+                }
+                if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer index && !name.equals("setFetchDirection")) {
+                    setParameter(index, name.equals("setNull") ? null : args[1]);
+                    return null;
+                }
+                return switch (name) {
+                    case "executeQuery" -> {
+                        QueryResult result = run(args);
+                        if (!result.isQuery()) throw new SQLException("Can not issue data manipulation statements with executeQuery().", "S1009");
+                        yield resultSet(result.labels(), result.types(), result.rows());
+                    }
+                    case "executeUpdate", "executeLargeUpdate" -> {
+                        QueryResult result = run(args);
+                        if (result.isQuery()) throw new SQLException("Can not issue executeUpdate() or executeQuery() for SELECT", "S1009");
+                        yield name.equals("executeLargeUpdate") ? (Object) (long) result.updateCount() : result.updateCount();
+                    }
+                    case "execute" -> run(args).isQuery();
+                    case "getResultSet" -> last != null && last.isQuery() ? resultSet(last.labels(), last.types(), last.rows()) : null;
+                    case "getUpdateCount" -> last == null || last.isQuery() ? -1 : last.updateCount();
+                    case "getMoreResults" -> false;
+                    case "getGeneratedKeys" -> {
+                        List<Object[]> keys = new ArrayList<>();
+                        if (last != null && returnKeys) {
+                            last.generatedKeys().forEach(key -> keys.add(new Object[]{key}));
+                        }
+                        yield resultSet(List.of("GENERATED_KEY"), new int[]{Types.BIGINT}, keys);
+                    }
+                    case "addBatch" -> {
+                        if (args.length > 0) throw unsupported(method);
+                        batch.add(params.toArray());
+                        yield null;
+                    }
+                    case "clearBatch" -> {
+                        batch.clear();
+                        yield null;
+                    }
+                    case "executeBatch" -> {
+                        int[] counts = new int[batch.size()];
+                        List<Long> keys = new ArrayList<>();
+                        try {
+                            for (int i = 0; i < counts.length; i++) {
+                                QueryResult result = execute(batch.get(i));
+                                counts[i] = result.updateCount();
+                                keys.addAll(result.generatedKeys());
+                            }
+                        } finally {
+                            batch.clear();
+                        }
+                        last = QueryResult.updated(Arrays.stream(counts).sum(), keys);
+                        yield counts;
+                    }
+                    case "clearParameters" -> {
+                        params.clear();
+                        yield null;
+                    }
+                    case "setQueryTimeout" -> {
+                        queryTimeout = (Integer) args[0];
+                        yield null;
+                    }
+                    case "getQueryTimeout" -> queryTimeout;
+                    case "setFetchSize", "setMaxRows", "setEscapeProcessing", "setPoolable", "setFetchDirection", "closeOnCompletion" -> null;
+                    case "getFetchSize", "getMaxRows" -> 0;
+                    case "getConnection" -> connection.self;
+                    case "close" -> {
+                        closed = true;
+                        yield null;
+                    }
+                    case "isClosed" -> closed;
+                    default -> throw unsupported(method);
+                };
+            }
+        }
+
+        private void setParameter(int index, Object value) {
+            while (params.size() < index) params.add(null);
+            params.set(index - 1, normalize(value));
+        }
+
+        private static Object normalize(Object value) {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) return ((Number) value).longValue();
+            if (value instanceof Float number) return number.doubleValue();
+            if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime();
+            if (value instanceof java.util.Date date && !(value instanceof java.sql.Date)) return new Timestamp(date.getTime()).toLocalDateTime();
+            if (value instanceof Character || value instanceof Enum<?>) return value.toString();
+            return value;
+        }
+
+        private QueryResult run(Object[] args) throws SQLException {
+            if (args.length > 0) {
+                throw new SQLException("Can not call execute(String) on PreparedStatement", "S1009");
+            }
+            last = execute(params.toArray());
+            return last;
+        }
+
+        private QueryResult execute(Object[] parameters) throws SQLException {
+            cancellation.reset(queryTimeout);
+            return connection.execute(sql, parameters, cancellation);
+        }
+    }
+
+    private static ResultSet resultSet(List<String> labels, int[] types, List<Object[]> rows) {
+        return proxy(ResultSet.class, new ResultSetHandler(labels, types, rows));
+    }
+
+    private static final class ResultSetHandler extends Handler {
+        private final List<String> labels;
+        private final int[] types;
+        private final List<Object[]> rows;
+        private int cursor = -1;
+        private boolean wasNull;
+        private boolean closed;
+
+        ResultSetHandler(List<String> labels, int[] types, List<Object[]> rows) {
+            this.labels = labels;
+            this.types = types;
+            this.rows = rows;
+        }
+
+        Object handle(Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            switch (name) {
+                case "next" -> {
+                    if (cursor < rows.size()) cursor++;
+                    return cursor < rows.size();
+                }
+                case "close" -> {
+                    closed = true;
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                case "getMetaData" -> {
+                    return proxy(ResultSetMetaData.class, new MetaDataHandler(labels, types));
+                }
+                case "wasNull" -> {
+                    return wasNull;
+                }
+                case "findColumn" -> {
+                    return column(args[0]) + 1;
+                }
+                case "getRow" -> {
+                    return cursor >= 0 && cursor < rows.size() ? cursor + 1 : 0;
+                }
+                case "isBeforeFirst" -> {
+                    return cursor < 0 && !rows.isEmpty();
+                }
+                case "isAfterLast" -> {
+                    return cursor >= rows.size() && !rows.isEmpty();
+                }
+                case "getType" -> {
+                    return ResultSet.TYPE_FORWARD_ONLY;
+                }
+                case "getConcurrency" -> {
+                    return ResultSet.CONCUR_READ_ONLY;
+                }
+                case "setFetchSize" -> {
+                    return null;
+                }
+                case "getFetchSize" -> {
+                    return 0;
+                }
+            }
+
+            if (!name.startsWith("get") || args.length == 0) throw unsupported(method);
+            if (cursor < 0 || cursor >= rows.size()) {
+                throw new SQLException("Illegal operation on empty result set.", "S1000");
+            }
+            int column = column(args[0]);
+            Object value = rows.get(cursor)[column];
+            wasNull = value == null;
+
+            return switch (name) {
+                case "getObject" -> args.length > 1 ? convert(value, (Class<?>) args[1]) : object(value, types[column]);
+                case "getString" -> Values.toText(value);
+                case "getLong" -> value == null ? 0L : Values.toLong(value);
+                case "getInt" -> value == null ? 0 : (int) Values.toLong(value);
+                case "getShort" -> value == null ? (short) 0 : (short) Values.toLong(value);
+                case "getByte" -> value == null ? (byte) 0 : (byte) Values.toLong(value);
+                case "getDouble" -> value == null ? 0d : Values.toDecimal(value).doubleValue();
+                case "getFloat" -> value == null ? 0f : Values.toDecimal(value).floatValue();
+                case "getBigDecimal" -> value == null ? null : Values.toDecimal(value);
+                case "getBoolean" -> value != null && Values.truth(value);
+                case "getTimestamp" -> value == null ? null : Timestamp.valueOf(Values.toDateTime(value));
+                case "getDate" -> value == null ? null : java.sql.Date.valueOf(Values.toDateTime(value).toLocalDate());
+                case "getBytes" -> value == null ? null : value instanceof byte[] bytes ? bytes : Values.toText(value).getBytes();
+                default -> throw unsupported(method);
+            };
+        }
+
+        private int column(Object column) throws SQLException {
+            if (column instanceof Integer index) {
+                if (index < 1 || index > labels.size()) {
+                    throw new SQLException("Column Index out of range, " + index + " > " + labels.size() + ".", "S1009");
+                }
+                return index - 1;
+            }
+            for (int i = 0; i < labels.size(); i++) {
+                if (labels.get(i).equalsIgnoreCase((String) column)) return i;
+            }
+            throw new SQLException("Column '" + column + "' not found.", "S0022");
+        }
+
+        // MySQL 드라이버의 getObject 와 같은 자바 타입
+        private static Object object(Object value, int type) {
+            if (value == null) return null;
+            return switch (type) {
+                case Types.INTEGER -> (int) Values.toLong(value);
+                case Types.BIGINT -> Values.toLong(value);
+                case Types.BIT -> Values.truth(value);
+                case Types.DECIMAL -> Values.toDecimal(value);
+                case Types.DOUBLE -> Values.toDecimal(value).doubleValue();
+                case Types.TIMESTAMP -> Values.toDateTime(value);
+                default -> value;
+            };
+        }
+
+        private static Object convert(Object value, Class<?> type) {
+            if (value == null) return null;
+            if (type == Long.class) return Values.toLong(value);
+            if (type == Integer.class) return (int) Values.toLong(value);
+            if (type == Boolean.class) return Values.truth(value);
+            if (type == BigDecimal.class) return Values.toDecimal(value);
+            if (type == Double.class) return Values.toDecimal(value).doubleValue();
+            if (type == String.class) return Values.toText(value);
+            if (type == LocalDateTime.class) return Values.toDateTime(value);
+            if (type == Timestamp.class) return Timestamp.valueOf(Values.toDateTime(value));
+            return type.cast(value);
+        }
+    }
+
+    private static final class MetaDataHandler extends Handler {
+        private final List<String> labels;
+        private final int[] types;
+
+        MetaDataHandler(List<String> labels, int[] types) {
+            this.labels = labels;
+            this.types = types;
+        }
+
+        Object handle(Method method, Object[] args) throws SQLException {
+            if (method.getName().equals("getColumnCount")) {
+                return labels.size();
+            }
+            int column = (Integer) args[0] - 1;
+            return switch (method.getName()) {
+                case "getColumnLabel", "getColumnName" -> labels.get(column);
+                case "getColumnType" -> types[column];
+                case "getColumnTypeName" -> JDBCType.valueOf(types[column]).getName();
+                case "isNullable" -> ResultSetMetaData.columnNullableUnknown;
+                case "getTableName", "getCatalogName", "getSchemaName" -> "";
+                case "getPrecision", "getScale" -> 0;
+                default -> throw unsupported(method);
+            };
+        }
+    }
+}
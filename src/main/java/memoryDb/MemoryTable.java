@@ -0,0 +1,150 @@
+package memoryDb;
+
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 주키 기준 hash 인덱스(단건/IN 조회) + 정렬 인덱스(범위 조회/기본 정렬)를 가진 테이블
+// 행은 Object[] 이고 수정할 때 새 배열로 바꾸므로, 트랜잭션용 복사본과 배열을 공유해도 안전
+class MemoryTable {
+    final String name;
+    final List<Column> columns;
+    // 주키 컬럼 위치, 주키가 없으면 -1 (숨은 행 번호를 키로 사용)
+    final int primaryKey;
+    // 복사본끼리 공유 (MySQL 처럼 롤백해도 되돌리지 않음)
+    final AtomicLong autoIncrement;
+
+    private final Map<String, Integer> columnIndexes;
+    private final Map<Object, Object[]> hashIndex;
+    private final NavigableMap<Object, Object[]> orderedIndex;
+
+    MemoryTable(String name, List<Column> columns, int primaryKey) {
+        this(name, columns, primaryKey, new AtomicLong(), new HashMap<>(), new TreeMap<>(Values::compare));
+    }
+
+    private MemoryTable(String name, List<Column> columns, int primaryKey, AtomicLong autoIncrement,
+                        Map<Object, Object[]> hashIndex, NavigableMap<Object, Object[]> orderedIndex) {
+        this.name = name;
+        this.columns = List.copyOf(columns);
+        this.primaryKey = primaryKey;
+        this.autoIncrement = autoIncrement;
+        this.hashIndex = hashIndex;
+        this.orderedIndex = orderedIndex;
+        this.columnIndexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndexes.put(columns.get(i).name().toLowerCase(), i);
+        }
+    }
+
+    MemoryTable copy() {
+        return new MemoryTable(name, columns, primaryKey, autoIncrement, new HashMap<>(hashIndex), new TreeMap<>(orderedIndex));
+    }
+
+    int columnIndex(String column) {
+        Integer index = columnIndexes.get(column.toLowerCase());
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown column '" + column + "' in '" + name + "'");
+        }
+        return index;
+    }
+
+    boolean hasColumn(String column) {
+        return columnIndexes.containsKey(column.toLowerCase());
+    }
+
+    boolean isPrimaryKey(String column) {
+        return primaryKey >= 0 && primaryKey == columnIndexes.getOrDefault(column.toLowerCase(), -2);
+    }
+
+    Column primaryKeyColumn() {
+        return primaryKey >= 0 ? columns.get(primaryKey) : null;
+    }
+
+    // 주키가 없는 테이블은 행마다 숨은 번호를 발급
+    Object keyOf(Object[] row) {
+        return primaryKey >= 0 ? row[primaryKey] : row[row.length - 1];
+    }
+
+    int width() {
+        return primaryKey >= 0 ? columns.size() : columns.size() + 1;
+    }
+
+    Object[] get(Object key) {
+        return key == null ? null : hashIndex.get(key);
+    }
+
+    void put(Object key, Object[] row) {
+        hashIndex.put(key, row);
+        orderedIndex.put(key, row);
+    }
+
+    void remove(Object key) {
+        hashIndex.remove(key);
+        orderedIndex.remove(key);
+    }
+
+    void clear() {
+        hashIndex.clear();
+        orderedIndex.clear();
+        autoIncrement.set(0);
+    }
+
+    int size() {
+        return hashIndex.size();
+    }
+
+    Collection<Object[]> scan() {
+        return orderedIndex.values();
+    }
+
+    // from/to 가 null 이면 그 쪽은 열린 범위
+    Collection<Object[]> range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        NavigableMap<Object, Object[]> range = orderedIndex;
+        if (from != null) range = range.tailMap(from, fromInclusive);
+        if (to != null) range = range.headMap(to, toInclusive);
+        return range.values();
+    }
+
+    enum ColumnType {
+        INTEGER(Types.INTEGER),
+        BIGINT(Types.BIGINT),
+        DECIMAL(Types.DECIMAL),
+        DOUBLE(Types.DOUBLE),
+        BIT(Types.BIT),
+        VARCHAR(Types.VARCHAR),
+        TEXT(Types.LONGVARCHAR),
+        DATETIME(Types.TIMESTAMP),
+        DATE(Types.DATE),
+        BLOB(Types.LONGVARBINARY);
+
+        final int sqlType;
+
+        ColumnType(int sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        // MySQL 드라이버가 보고하는 JDBC 타입 기준 (INT UNSIGNED 는 BIGINT, TINYINT(1)/BIT(1) 은 BIT)
+        static ColumnType of(String typeName, List<String> arguments, boolean unsigned) {
+            String size = arguments.isEmpty() ? null : arguments.get(0);
+            return switch (typeName.toUpperCase()) {
+                case "INT", "INTEGER", "MEDIUMINT" -> unsigned ? BIGINT : INTEGER;
+                case "SMALLINT" -> INTEGER;
+                case "TINYINT" -> "1".equals(size) ? BIT : INTEGER;
+                case "BIGINT" -> BIGINT;
+                case "BOOL", "BOOLEAN" -> BIT;
+                case "BIT" -> size == null || "1".equals(size) ? BIT : BIGINT;
+                case "DECIMAL", "NUMERIC", "DEC" -> DECIMAL;
+                case "FLOAT", "DOUBLE", "REAL" -> DOUBLE;
+                case "CHAR", "VARCHAR", "ENUM", "SET" -> VARCHAR;
+                case "TEXT", "TINYTEXT", "MEDIUMTEXT", "LONGTEXT", "JSON" -> TEXT;
+                case "DATETIME", "TIMESTAMP" -> DATETIME;
+                case "DATE" -> DATE;
+                case "BLOB", "TINYBLOB", "MEDIUMBLOB", "LONGBLOB", "BINARY", "VARBINARY" -> BLOB;
+                default -> throw new IllegalArgumentException("지원하지 않는 컬럼 타입: " + typeName);
+            };
+        }
+    }
+
+    record Column(String name, ColumnType type, boolean notNull, boolean autoIncrement, Expression defaultValue) {
+    }
+}
@@ -0,0 +1,127 @@
+package memoryDb;
+
+import java.sql.SQLException;
+import java.util.*;
+
+// WHERE 의 AND 조건 중 주키 조건이 있으면 인덱스로 후보 행을 좁힘
+// = / IN 은 hash 인덱스, BETWEEN / < / > 는 정렬 인덱스, 나머지는 전체 스캔
+// 후보를 고른 뒤에는 항상 WHERE 전체로 다시 거름
+final class Plan {
+    private Plan() {
+    }
+
+    static List<Object[]> matching(MemoryTable table, Expression where, EvalContext context) throws SQLException {
+        Collection<Object[]> candidates = candidates(table, where, context);
+
+        List<Object[]> matched = new ArrayList<>();
+        int scanned = 0;
+        for (Object[] row : candidates) {
+            if (++scanned % 1024 == 0) context.checkCancelled();
+            context.row = row;
+            if (where == null || Boolean.TRUE.equals(Values.truth(where.evaluate(context)))) {
+                matched.add(row);
+            }
+        }
+        return matched;
+    }
+
+    private static Collection<Object[]> candidates(MemoryTable table, Expression where, EvalContext context) throws SQLException {
+        if (where == null || table.primaryKey < 0) {
+            return table.scan();
+        }
+
+        List<Expression> conjuncts = new ArrayList<>();
+        split(where, conjuncts);
+
+        // 단건/IN 조회를 범위 조회보다 먼저
+        for (Expression conjunct : conjuncts) {
+            if (conjunct instanceof Expression.Binary binary && binary.operator().equals("=")) {
+                Expression constant = keyComparedWith(table, binary.left(), binary.right());
+                if (constant != null) {
+                    return lookup(table, List.of(constant), context);
+                }
+            }
+            if (conjunct instanceof Expression.In in && !in.negated() && isKey(table, in.operand())
+                    && in.values().stream().allMatch(Plan::isConstant)) {
+                return lookup(table, in.values(), context);
+            }
+        }
+
+        for (Expression conjunct : conjuncts) {
+            if (conjunct instanceof Expression.Between between && !between.negated() && isKey(table, between.operand())
+                    && isConstant(between.low()) && isConstant(between.high())) {
+                Object from = key(table, between.low(), context);
+                Object to = key(table, between.high(), context);
+                return from == null || to == null ? List.of() : table.range(from, true, to, true);
+            }
+            if (conjunct instanceof Expression.Binary binary && List.of("<", "<=", ">", ">=").contains(binary.operator())) {
+                String operator = binary.operator();
+                Expression constant = null;
+                if (isKey(table, binary.left()) && isConstant(binary.right())) {
+                    constant = binary.right();
+                } else if (isKey(table, binary.right()) && isConstant(binary.left())) {
+                    // 5 < id 는 id > 5
+                    constant = binary.left();
+                    operator = switch (operator) {
+                        case "<" -> ">";
+                        case "<=" -> ">=";
+                        case ">" -> "<";
+                        default -> "<=";
+                    };
+                }
+                if (constant == null) continue;
+
+                Object bound = key(table, constant, context);
+                if (bound == null) return List.of();
+                return switch (operator) {
+                    case "<" -> table.range(null, false, bound, false);
+                    case "<=" -> table.range(null, false, bound, true);
+                    case ">" -> table.range(bound, false, null, false);
+                    default -> table.range(bound, true, null, false);
+                };
+            }
+        }
+
+        return table.scan();
+    }
+
+    // 주키 순서로 돌려줌 (인덱스 스캔과 같은 순서)
+    private static Collection<Object[]> lookup(MemoryTable table, List<Expression> constants, EvalContext context) throws SQLException {
+        TreeMap<Object, Object[]> found = new TreeMap<>(Values::compare);
+        for (Expression constant : constants) {
+            Object key = key(table, constant, context);
+            Object[] row = table.get(key);
+            if (row != null) found.put(key, row);
+        }
+        return found.values();
+    }
+
+    private static void split(Expression expression, List<Expression> conjuncts) {
+        if (expression instanceof Expression.Binary binary && binary.operator().equals("AND")) {
+            split(binary.left(), conjuncts);
+            split(binary.right(), conjuncts);
+        } else {
+            conjuncts.add(expression);
+        }
+    }
+
+    private static Expression keyComparedWith(MemoryTable table, Expression left, Expression right) {
+        if (isKey(table, left) && isConstant(right)) return right;
+        if (isKey(table, right) && isConstant(left)) return left;
+        return null;
+    }
+
+    private static boolean isKey(MemoryTable table, Expression expression) {
+        return expression instanceof Expression.ColumnRef column && table.isPrimaryKey(column.name());
+    }
+
+    private static boolean isConstant(Expression expression) {
+        return expression instanceof Expression.Literal || expression instanceof Expression.Param;
+    }
+
+    // 인덱스 키와 같은 타입으로 변환 (문자열 '1' 과 숫자 1 이 같은 키를 찾도록)
+    private static Object key(MemoryTable table, Expression constant, EvalContext context) throws SQLException {
+        Object value = constant.evaluate(context);
+        return value == null ? null : Values.coerce(value, table.primaryKeyColumn().type());
+    }
+}
@@ -0,0 +1,38 @@
+package memoryDb;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 문장 실행 결과: SELECT 는 labels/types/rows, 나머지는 updateCount (+ AUTO_INCREMENT 로 생성된 키)
+record QueryResult(List<String> labels, int[] types, List<Object[]> rows, int updateCount, List<Long> generatedKeys) {
+    static QueryResult rows(List<String> labels, int[] types, List<Object[]> rows) {
+        return new QueryResult(labels, types, rows, -1, List.of());
+    }
+
+    static QueryResult updated(int updateCount) {
+        return updated(updateCount, List.of());
+    }
+
+    static QueryResult updated(int updateCount, List<Long> generatedKeys) {
+        return new QueryResult(List.of(), new int[0], List.of(), updateCount, generatedKeys);
+    }
+
+    boolean isQuery() {
+        return updateCount < 0;
+    }
+
+    // 테이블 컬럼이 아닌 식은 값으로 JDBC 타입을 정함
+    static int typeOf(Object value) {
+        if (value instanceof Long) return Types.BIGINT;
+        if (value instanceof Integer) return Types.INTEGER;
+        if (value instanceof BigDecimal) return Types.DECIMAL;
+        if (value instanceof Double || value instanceof Float) return Types.DOUBLE;
+        if (value instanceof Boolean) return Types.BIT;
+        if (value instanceof LocalDateTime) return Types.TIMESTAMP;
+        if (value instanceof java.sql.Date) return Types.DATE;
+        if (value instanceof byte[]) return Types.LONGVARBINARY;
+        return Types.VARCHAR;
+    }
+}
@@ -0,0 +1,117 @@
+package memoryDb;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.*;
+
+// INSERT/UPDATE/DELETE/SELECT 가 같이 쓰는 행 단위 처리
+final class Rows {
+    private Rows() {
+    }
+
+    // 빠진 컬럼은 DEFAULT 로 채우고 타입 변환 + NOT NULL 검사
+    static Object[] complete(MemoryTable table, Object[] provided, boolean[] present, EvalContext context) throws SQLException {
+        Object[] row = new Object[table.width()];
+        for (int i = 0; i < table.columns.size(); i++) {
+            MemoryTable.Column column = table.columns.get(i);
+            Object value;
+            if (present[i]) {
+                value = provided[i];
+            } else if (column.defaultValue() != null) {
+                value = column.defaultValue().evaluate(context);
+            } else if (column.notNull() && !column.autoIncrement()) {
+                throw new SQLException("Field '" + column.name() + "' doesn't have a default value", "HY000", 1364);
+            } else {
+                value = null;
+            }
+            row[i] = checkNotNull(column, Values.coerce(value, column.type()));
+        }
+        return row;
+    }
+
+    // AUTO_INCREMENT 주키가 비어 있거나 0 이면 발급, 발급한 키를 반환
+    static Long assignKey(MemoryTable table, Object[] row) {
+        if (table.primaryKey < 0) {
+            row[row.length - 1] = table.autoIncrement.incrementAndGet();
+            return null;
+        }
+        MemoryTable.Column column = table.primaryKeyColumn();
+        if (!column.autoIncrement()) {
+            return null;
+        }
+        Object key = row[table.primaryKey];
+        if (key == null || Values.toLong(key) == 0) {
+            long generated = table.autoIncrement.incrementAndGet();
+            row[table.primaryKey] = Values.coerce(generated, column.type());
+            return generated;
+        }
+        long explicit = Values.toLong(key);
+        table.autoIncrement.accumulateAndGet(explicit, Math::max);
+        return null;
+    }
+
+    // SET a = ..., b = ... 를 왼쪽부터 적용 (뒤의 식은 앞에서 바꾼 값을 봄)
+    static Object[] assign(MemoryTable table, Object[] row, List<Command.Assignment> assignments, EvalContext context) throws SQLException {
+        Object[] updated = row.clone();
+        context.row = updated;
+        for (Command.Assignment assignment : assignments) {
+            int index = table.columnIndex(assignment.column());
+            MemoryTable.Column column = table.columns.get(index);
+            updated[index] = checkNotNull(column, Values.coerce(assignment.value().evaluate(context), column.type()));
+        }
+        return updated;
+    }
+
+    static void replace(Session session, MemoryTable table, Object[] existing, Object[] updated) throws SQLException {
+        Object oldKey = table.keyOf(existing);
+        Object newKey = table.keyOf(updated);
+        if (Values.compare(oldKey, newKey) != 0) {
+            if (table.get(newKey) != null) {
+                throw new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry '" + Values.toText(newKey) + "' for key '" + table.name + ".PRIMARY'", "23000", 1062);
+            }
+            session.remove(table, oldKey);
+        }
+        session.put(table, newKey, updated);
+    }
+
+    private static Object checkNotNull(MemoryTable.Column column, Object value) throws SQLException {
+        if (value == null && column.notNull() && !column.autoIncrement()) {
+            throw new SQLIntegrityConstraintViolationException("Column '" + column.name() + "' cannot be null", "23000", 1048);
+        }
+        return value;
+    }
+
+    static List<Object[]> sort(List<Object[]> rows, List<Command.Order> orderBy, EvalContext context) throws SQLException {
+        if (orderBy.isEmpty()) return rows;
+
+        Map<Object[], Object[]> keys = new IdentityHashMap<>();
+        for (Object[] row : rows) {
+            context.row = row;
+            Object[] key = new Object[orderBy.size()];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = orderBy.get(i).expression().evaluate(context);
+            }
+            keys.put(row, key);
+        }
+        List<Object[]> sorted = new ArrayList<>(rows);
+        sorted.sort((a, b) -> compareKeys(keys.get(a), keys.get(b), orderBy));
+        return sorted;
+    }
+
+    static int compareKeys(Object[] left, Object[] right, List<Command.Order> orderBy) {
+        for (int i = 0; i < orderBy.size(); i++) {
+            int compared = Values.compareNullsFirst(left[i], right[i]);
+            if (compared != 0) {
+                return orderBy.get(i).descending() ? -compared : compared;
+            }
+        }
+        return 0;
+    }
+
+    static List<Object[]> limit(List<Object[]> rows, Expression offset, Expression limit, EvalContext context) throws SQLException {
+        int from = offset == null ? 0 : (int) Math.min(rows.size(), Math.max(0, Values.toLong(offset.evaluate(context))));
+        int to = limit == null ? rows.size() : (int) Math.min(rows.size(), from + Math.max(0, Values.toLong(limit.evaluate(context))));
+        return from == 0 && to == rows.size() ? rows : new ArrayList<>(rows.subList(from, to));
+    }
+}
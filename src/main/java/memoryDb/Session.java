@@ -0,0 +1,195 @@
+package memoryDb;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+
+// 커넥션 하나의 상태
+// 트랜잭션 중에는 처음 건드린 테이블을 복사해서 그 복사본에 읽고 쓰고, 변경 기록을 commit 때 원본에 반영
+// 기존 행을 고치는 문장(UPDATE, DELETE, ON DUPLICATE KEY UPDATE, SELECT ... FOR UPDATE)은 테이블 단위로 잠가서
+// 읽고-고치고-쓰는 트랜잭션끼리 갱신을 잃지 않음 (행 잠금 대신 테이블 잠금, 잠그지 않는 INSERT 끼리 같은 키면 나중 commit 이 중복 키 오류)
+final class Session {
+    private final MemoryDatabase database;
+    private boolean autoCommit = true;
+    private final Map<String, MemoryTable> workspace = new HashMap<>();
+    private final List<Change> changes = new ArrayList<>();
+    // 트랜잭션이 잡고 있는 테이블 잠금 (소문자 이름)
+    private final Set<String> lockedTables = new HashSet<>();
+
+    Session(MemoryDatabase database) {
+        this.database = database;
+    }
+
+    MemoryDatabase database() {
+        return database;
+    }
+
+    QueryResult execute(String sql, Object[] params, EvalContext.Cancellation cancellation) throws SQLException {
+        Command command = database.parse(sql);
+        EvalContext context = new EvalContext(params, cancellation);
+
+        // DDL 은 MySQL 처럼 진행 중인 트랜잭션을 먼저 커밋
+        if (command.isDdl()) {
+            commit();
+            return locked(database.lock().writeLock(), command, context);
+        }
+        String lockedTable = command.lockedTable();
+        if (!autoCommit) {
+            if (lockedTable != null) {
+                lockForTransaction(lockedTable, context);
+            }
+            return run(command, context);
+        }
+        if (lockedTable == null || command.isQuery()) {
+            return locked(command.isQuery() ? database.lock().readLock() : database.lock().writeLock(), command, context);
+        }
+        // 자동 커밋 변경도 잠근 트랜잭션이 끝나길 기다림 (테이블 잠금 -> 스키마 잠금 순서는 commit 과 같음)
+        database.lockTable(lockedTable, context);
+        try {
+            return locked(database.lock().writeLock(), command, context);
+        } finally {
+            database.unlockTable(lockedTable);
+        }
+    }
+
+    // 잠그기 전에 복사해 둔 테이블에는 그 사이 다른 트랜잭션의 commit 이 빠져 있으므로
+    // 최신 원본을 다시 복사하고 이 트랜잭션의 변경을 다시 적용
+    private void lockForTransaction(String table, EvalContext context) throws SQLException {
+        String key = table.toLowerCase();
+        if (lockedTables.contains(key)) return;
+
+        database.lockTable(key, context);
+        lockedTables.add(key);
+        if (workspace.remove(key) != null) {
+            MemoryTable copy = table(table);
+            for (Change change : changes) {
+                if (!change.table().equalsIgnoreCase(table)) continue;
+                if (change.row() == null) {
+                    copy.remove(change.key());
+                } else {
+                    copy.put(change.key(), change.row());
+                }
+            }
+        }
+    }
+
+    private QueryResult locked(Lock lock, Command command, EvalContext context) throws SQLException {
+        lock.lock();
+        try {
+            return run(command, context);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private QueryResult run(Command command, EvalContext context) throws SQLException {
+        try {
+            return command.execute(this, context);
+        } catch (IllegalArgumentException e) {
+            throw new SQLSyntaxErrorException(e.getMessage(), "42S22", 1054, e);
+        }
+    }
+
+    MemoryTable table(String name) throws SQLException {
+        if (autoCommit) {
+            return database.table(name);
+        }
+
+        String key = name.toLowerCase();
+        MemoryTable copy = workspace.get(key);
+        if (copy == null) {
+            Lock lock = database.lock().readLock();
+            lock.lock();
+            try {
+                copy = database.table(name).copy();
+            } finally {
+                lock.unlock();
+            }
+            workspace.put(key, copy);
+        }
+        return copy;
+    }
+
+    void put(MemoryTable table, Object key, Object[] row) {
+        boolean inserted = table.get(key) == null;
+        table.put(key, row);
+        if (!autoCommit) {
+            changes.add(new Change(table.name, key, row, inserted));
+        }
+    }
+
+    void remove(MemoryTable table, Object key) {
+        table.remove(key);
+        if (!autoCommit) {
+            changes.add(new Change(table.name, key, null, false));
+        }
+    }
+
+    boolean getAutoCommit() {
+        return autoCommit;
+    }
+
+    void setAutoCommit(boolean autoCommit) throws SQLException {
+        // JDBC 규약: 트랜잭션 중에 autoCommit 을 켜면 커밋
+        if (autoCommit && !this.autoCommit) {
+            commit();
+        }
+        this.autoCommit = autoCommit;
+    }
+
+    void commit() throws SQLException {
+        try {
+            if (!changes.isEmpty()) {
+                Lock lock = database.lock().writeLock();
+                lock.lock();
+                try {
+                    checkInsertedKeys();
+                    for (Change change : changes) {
+                        MemoryTable table = database.findTable(change.table());
+                        if (table == null) continue;
+                        if (change.row() == null) {
+                            table.remove(change.key());
+                        } else {
+                            table.put(change.key(), change.row());
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            // 중복 키로 실패해도 변경은 하나도 반영되지 않은 채 트랜잭션이 끝남
+            rollback();
+        }
+    }
+
+    // 잠그지 않은 INSERT 는 복사본 기준으로만 중복을 검사했으므로, 그 사이 다른 트랜잭션이
+    // 같은 키를 커밋했으면 덮어쓰지 않고 MySQL 처럼 중복 키 오류를 냄
+    private void checkInsertedKeys() throws SQLException {
+        Map<String, Set<Object>> removed = new HashMap<>();
+        for (Change change : changes) {
+            MemoryTable table = database.findTable(change.table());
+            if (table == null) continue;
+            Set<Object> removedKeys = removed.computeIfAbsent(table.name.toLowerCase(), name -> new HashSet<>());
+            if (change.row() == null) {
+                removedKeys.add(change.key());
+            } else if (change.inserted() && !removedKeys.remove(change.key()) && table.get(change.key()) != null) {
+                throw new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry '" + Values.toText(change.key()) + "' for key '" + table.name + ".PRIMARY'", "23000", 1062);
+            }
+        }
+    }
+
+    void rollback() {
+        changes.clear();
+        workspace.clear();
+        lockedTables.forEach(database::unlockTable);
+        lockedTables.clear();
+    }
+
+    // row 가 null 이면 삭제, inserted 는 이 트랜잭션에서 보기에 없던 키에 넣은 경우
+    private record Change(String table, Object key, Object[] row, boolean inserted) {
+    }
+}
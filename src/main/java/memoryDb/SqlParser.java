@@ -0,0 +1,745 @@
+package memoryDb;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// Sql 빌더가 만드는 정도의 MySQL 문법만 지원하는 재귀 하강 파서
+// CREATE/DROP/TRUNCATE, INSERT SET/VALUES (+ ON DUPLICATE KEY UPDATE), UPDATE, DELETE,
+// SELECT (WHERE/GROUP BY/HAVING/ORDER BY/LIMIT, IN/BETWEEN/LIKE, COUNT/FIELD/NOW/CONCAT 등)
+final class SqlParser {
+    // 별칭으로 쓸 수 없는 단어 (SELECT 목록/FROM 뒤에서 절의 시작으로 봄)
+    private static final Set<String> CLAUSES = Set.of(
+            "FROM", "WHERE", "GROUP", "HAVING", "ORDER", "LIMIT", "OFFSET", "FOR", "LOCK", "UNION", "ON", "SET", "VALUES", "INTO");
+    private static final Set<String> AGGREGATES = Set.of("COUNT", "SUM", "AVG", "MIN", "MAX");
+    private static final Set<String> JOINS = Set.of("JOIN", "INNER", "LEFT", "RIGHT", "CROSS", "NATURAL", "STRAIGHT_JOIN");
+
+    private final String sql;
+    private final List<Token> tokens;
+    private int position;
+    private int paramCount;
+    // 문장이 다루는 테이블 (table.column 의 한정자는 이 이름만 허용)
+    private String table;
+    private final List<Token> qualifiers = new ArrayList<>();
+
+    SqlParser(String sql) {
+        this.sql = sql;
+        this.tokens = tokenize(sql);
+    }
+
+    Command parse() {
+        Command command;
+        if (acceptKeyword("SELECT")) command = select();
+        else if (acceptKeyword("INSERT")) command = insert();
+        else if (acceptKeyword("UPDATE")) command = update();
+        else if (acceptKeyword("DELETE")) command = delete();
+        else if (acceptKeyword("CREATE")) command = createTable();
+        else if (acceptKeyword("DROP")) command = dropTable();
+        else if (acceptKeyword("TRUNCATE")) {
+            acceptKeyword("TABLE");
+            command = new Command.Truncate(identifier());
+        } else throw error("지원하지 않는 문장");
+
+        accept(";");
+        if (peek().kind != Kind.END) {
+            throw error("문장 끝에 해석할 수 없는 부분");
+        }
+        // 별칭이나 다른 테이블로 한정한 컬럼을 조용히 같은 테이블 컬럼으로 읽지 않도록 거부
+        for (Token qualifier : qualifiers) {
+            if (table == null || !qualifier.text.equalsIgnoreCase(table)) {
+                throw error("지원하지 않는 테이블 한정자 (별칭/JOIN 미지원)", qualifier);
+            }
+        }
+        return command;
+    }
+
+    private Command select() {
+        if (peekKeyword("DISTINCT") || peekKeyword("DISTINCTROW")) {
+            throw error("SELECT DISTINCT 는 지원하지 않음");
+        }
+        List<Command.SelectItem> items = new ArrayList<>();
+        do {
+            items.add(selectItem());
+        } while (accept(","));
+
+        String table = null;
+        if (acceptKeyword("FROM")) {
+            table = tableName();
+        }
+        Expression where = acceptKeyword("WHERE") ? expression() : null;
+
+        List<Expression> groupBy = new ArrayList<>();
+        if (acceptKeyword("GROUP")) {
+            expectKeyword("BY");
+            do {
+                groupBy.add(expression());
+            } while (accept(","));
+        }
+        Expression having = acceptKeyword("HAVING") ? expression() : null;
+        List<Command.Order> orderBy = orderBy();
+
+        Expression limit = null;
+        Expression offset = null;
+        if (acceptKeyword("LIMIT")) {
+            limit = primary();
+            if (accept(",")) {
+                // LIMIT offset, count
+                offset = limit;
+                limit = primary();
+            } else if (acceptKeyword("OFFSET")) {
+                offset = primary();
+            }
+        }
+
+        // FOR UPDATE 는 트랜잭션이 끝날 때까지 테이블 잠금, LOCK IN SHARE MODE 는 복사본 격리로 충분
+        boolean forUpdate = false;
+        if (acceptKeyword("FOR")) {
+            expectKeyword("UPDATE");
+            forUpdate = true;
+        } else if (acceptKeyword("LOCK")) {
+            expectKeyword("IN");
+            expectKeyword("SHARE");
+            expectKeyword("MODE");
+        }
+        return new Command.Select(items, table, where, groupBy, having, orderBy, limit, offset, forUpdate);
+    }
+
+    private Command.SelectItem selectItem() {
+        if (accept("*")) {
+            return new Command.SelectItem(null, "*");
+        }
+        // t.*
+        if (peek().isIdentifier() && peek(1).is(".") && peek(2).is("*")) {
+            qualifiers.add(peek());
+            position += 3;
+            return new Command.SelectItem(null, "*");
+        }
+
+        int start = peek().start;
+        Expression expression = expression();
+        String label = sql.substring(start, tokens.get(position - 1).end).strip();
+        if (expression instanceof Expression.ColumnRef column) {
+            label = column.name();
+        }
+
+        if (acceptKeyword("AS")) {
+            label = aliasName();
+        } else if (peek().kind == Kind.QUOTED || peek().kind == Kind.STRING
+                || (peek().kind == Kind.WORD && !CLAUSES.contains(peek().upper()))) {
+            label = aliasName();
+        }
+        return new Command.SelectItem(expression, label);
+    }
+
+    private String aliasName() {
+        Token token = next();
+        if (token.kind != Kind.WORD && token.kind != Kind.QUOTED && token.kind != Kind.STRING) {
+            throw error("별칭이 필요합니다");
+        }
+        return token.text;
+    }
+
+    // 단일 테이블만 지원 (별칭/JOIN 은 결과가 틀리지 않도록 오류)
+    private String tableName() {
+        table = identifier();
+        if (peek().is(",") || (peek().kind == Kind.WORD && JOINS.contains(peek().upper()))) {
+            throw error("JOIN 은 지원하지 않음");
+        }
+        if (peekKeyword("AS") || peek().kind == Kind.QUOTED || (peek().kind == Kind.WORD && !CLAUSES.contains(peek().upper()))) {
+            throw error("테이블 별칭은 지원하지 않음");
+        }
+        return table;
+    }
+
+    private List<Command.Order> orderBy() {
+        List<Command.Order> orderBy = new ArrayList<>();
+        if (acceptKeyword("ORDER")) {
+            expectKeyword("BY");
+            do {
+                Expression expression = expression();
+                boolean descending = acceptKeyword("DESC");
+                if (!descending) acceptKeyword("ASC");
+                orderBy.add(new Command.Order(expression, descending));
+            } while (accept(","));
+        }
+        return orderBy;
+    }
+
+    private Command insert() {
+        boolean ignore = acceptKeyword("IGNORE");
+        acceptKeyword("INTO");
+        String table = identifier();
+        this.table = table;
+
+        List<String> columns = new ArrayList<>();
+        List<List<Expression>> rows = new ArrayList<>();
+        if (acceptKeyword("SET")) {
+            List<Expression> values = new ArrayList<>();
+            for (Command.Assignment assignment : assignments()) {
+                columns.add(assignment.column());
+                values.add(assignment.value());
+            }
+            rows.add(values);
+        } else {
+            if (accept("(")) {
+                do {
+                    columns.add(column());
+                } while (accept(","));
+                expect(")");
+            }
+            if (!acceptKeyword("VALUES")) expectKeyword("VALUE");
+            do {
+                expect("(");
+                List<Expression> values = new ArrayList<>();
+                if (!peek().is(")")) {
+                    do {
+                        values.add(expression());
+                    } while (accept(","));
+                }
+                expect(")");
+                rows.add(values);
+            } while (accept(","));
+        }
+
+        List<Command.Assignment> onDuplicate = List.of();
+        if (acceptKeyword("ON")) {
+            expectKeyword("DUPLICATE");
+            expectKeyword("KEY");
+            expectKeyword("UPDATE");
+            onDuplicate = assignments();
+        }
+        return new Command.Insert(table, columns, rows, onDuplicate, ignore);
+    }
+
+    private Command update() {
+        String table = tableName();
+        expectKeyword("SET");
+        List<Command.Assignment> assignments = assignments();
+        Expression where = acceptKeyword("WHERE") ? expression() : null;
+        List<Command.Order> orderBy = orderBy();
+        Expression limit = acceptKeyword("LIMIT") ? primary() : null;
+        return new Command.Update(table, assignments, where, orderBy, limit);
+    }
+
+    private Command delete() {
+        expectKeyword("FROM");
+        String table = tableName();
+        Expression where = acceptKeyword("WHERE") ? expression() : null;
+        List<Command.Order> orderBy = orderBy();
+        Expression limit = acceptKeyword("LIMIT") ? primary() : null;
+        return new Command.Delete(table, where, orderBy, limit);
+    }
+
+    private List<Command.Assignment> assignments() {
+        List<Command.Assignment> assignments = new ArrayList<>();
+        do {
+            String column = column();
+            expect("=");
+            assignments.add(new Command.Assignment(column, expression()));
+        } while (accept(","));
+        return assignments;
+    }
+
+    private Command createTable() {
+        acceptKeyword("TEMPORARY");
+        expectKeyword("TABLE");
+        boolean ifNotExists = false;
+        if (acceptKeyword("IF")) {
+            expectKeyword("NOT");
+            expectKeyword("EXISTS");
+            ifNotExists = true;
+        }
+        String table = identifier();
+        expect("(");
+
+        List<MemoryTable.Column> columns = new ArrayList<>();
+        String primaryKey = null;
+        do {
+            if (acceptKeyword("PRIMARY")) {
+                expectKeyword("KEY");
+                expect("(");
+                primaryKey = identifier();
+                if (!peek().is(")")) throw error("복합 주키는 지원하지 않습니다");
+                expect(")");
+            } else if (peekKeyword("KEY") || peekKeyword("INDEX") || peekKeyword("UNIQUE") || peekKeyword("CONSTRAINT")
+                    || peekKeyword("FOREIGN") || peekKeyword("FULLTEXT") || peekKeyword("CHECK")) {
+                // 보조 인덱스/제약은 무시
+                skipDefinition();
+            } else {
+                ColumnDefinition column = columnDefinition();
+                columns.add(column.column());
+                if (column.primaryKey()) primaryKey = column.column().name();
+            }
+        } while (accept(","));
+        expect(")");
+
+        // ENGINE=..., DEFAULT CHARSET=... 같은 테이블 옵션은 무시
+        while (peek().kind != Kind.END && !peek().is(";")) {
+            next();
+        }
+        return new Command.CreateTable(table, ifNotExists, columns, primaryKey);
+    }
+
+    private record ColumnDefinition(MemoryTable.Column column, boolean primaryKey) {
+    }
+
+    private ColumnDefinition columnDefinition() {
+        String name = identifier();
+        String typeName = next().text;
+        List<String> arguments = new ArrayList<>();
+        if (accept("(")) {
+            do {
+                arguments.add(next().text);
+            } while (accept(","));
+            expect(")");
+        }
+
+        boolean unsigned = false;
+        boolean notNull = false;
+        boolean autoIncrement = false;
+        boolean primaryKey = false;
+        Expression defaultValue = null;
+        while (!peek().is(",") && !peek().is(")") && peek().kind != Kind.END) {
+            if (acceptKeyword("UNSIGNED")) unsigned = true;
+            else if (acceptKeyword("NOT")) {
+                expectKeyword("NULL");
+                notNull = true;
+            } else if (acceptKeyword("NULL")) notNull = false;
+            else if (acceptKeyword("AUTO_INCREMENT")) autoIncrement = true;
+            else if (acceptKeyword("PRIMARY")) {
+                expectKeyword("KEY");
+                primaryKey = true;
+                notNull = true;
+            } else if (acceptKeyword("DEFAULT")) {
+                defaultValue = accept("(") ? parenthesized() : unary();
+            } else if (acceptKeyword("ON")) {
+                // ON UPDATE CURRENT_TIMESTAMP 는 무시
+                expectKeyword("UPDATE");
+                unary();
+            } else if (peek().is("(")) {
+                skipParentheses();
+            } else {
+                // COMMENT '...', CHARACTER SET x, COLLATE x, ZEROFILL 등
+                next();
+            }
+        }
+
+        MemoryTable.ColumnType type = MemoryTable.ColumnType.of(typeName, arguments, unsigned);
+        return new ColumnDefinition(new MemoryTable.Column(name, type, notNull, autoIncrement, defaultValue), primaryKey);
+    }
+
+    private Expression parenthesized() {
+        Expression expression = expression();
+        expect(")");
+        return expression;
+    }
+
+    private void skipDefinition() {
+        while (!peek().is(",") && !peek().is(")") && peek().kind != Kind.END) {
+            if (peek().is("(")) skipParentheses();
+            else next();
+        }
+    }
+
+    private void skipParentheses() {
+        expect("(");
+        int depth = 1;
+        while (depth > 0) {
+            Token token = next();
+            if (token.kind == Kind.END) throw error("괄호가 닫히지 않았습니다");
+            if (token.is("(")) depth++;
+            if (token.is(")")) depth--;
+        }
+    }
+
+    private Command dropTable() {
+        acceptKeyword("TEMPORARY");
+        expectKeyword("TABLE");
+        boolean ifExists = false;
+        if (acceptKeyword("IF")) {
+            expectKeyword("EXISTS");
+            ifExists = true;
+        }
+        List<String> tables = new ArrayList<>();
+        do {
+            tables.add(identifier());
+        } while (accept(","));
+        return new Command.DropTable(tables, ifExists);
+    }
+
+    // 식: OR < AND < NOT < 비교/IS/IN/BETWEEN/LIKE < +,- < *,/,% < 단항 -
+    private Expression expression() {
+        Expression left = and();
+        while (acceptKeyword("OR") || accept("||")) {
+            left = new Expression.Binary("OR", left, and());
+        }
+        return left;
+    }
+
+    private Expression and() {
+        Expression left = not();
+        while (acceptKeyword("AND") || accept("&&")) {
+            left = new Expression.Binary("AND", left, not());
+        }
+        return left;
+    }
+
+    private Expression not() {
+        if (acceptKeyword("NOT") || accept("!")) {
+            return new Expression.Not(not());
+        }
+        return comparison();
+    }
+
+    private Expression comparison() {
+        Expression left = additive();
+        while (true) {
+            Token token = peek();
+            if (token.kind == Kind.SYMBOL && List.of("=", "!=", "<>", "<", "<=", ">", ">=", "<=>").contains(token.text)) {
+                next();
+                left = new Expression.Binary(token.text, left, additive());
+            } else if (acceptKeyword("IS")) {
+                boolean negated = acceptKeyword("NOT");
+                expectKeyword("NULL");
+                left = new Expression.IsNull(left, negated);
+            } else {
+                boolean negated = peekKeyword("NOT") && (peek(1).isKeyword("IN") || peek(1).isKeyword("BETWEEN") || peek(1).isKeyword("LIKE"));
+                if (negated) next();
+
+                if (acceptKeyword("IN")) {
+                    expect("(");
+                    List<Expression> values = new ArrayList<>();
+                    do {
+                        values.add(expression());
+                    } while (accept(","));
+                    expect(")");
+                    left = new Expression.In(left, values, negated);
+                } else if (acceptKeyword("BETWEEN")) {
+                    Expression low = additive();
+                    expectKeyword("AND");
+                    left = new Expression.Between(left, low, additive(), negated);
+                } else if (acceptKeyword("LIKE")) {
+                    left = new Expression.Like(left, additive(), negated);
+                } else {
+                    return left;
+                }
+            }
+        }
+    }
+
+    private Expression additive() {
+        Expression left = multiplicative();
+        while (peek().is("+") || peek().is("-")) {
+            String operator = next().text;
+            left = new Expression.Binary(operator, left, multiplicative());
+        }
+        return left;
+    }
+
+    private Expression multiplicative() {
+        Expression left = unary();
+        while (true) {
+            if (peek().is("*") || peek().is("/") || peek().is("%")) {
+                String operator = next().text;
+                left = new Expression.Binary(operator, left, unary());
+            } else if (acceptKeyword("MOD")) {
+                left = new Expression.Binary("%", left, unary());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression unary() {
+        if (accept("-")) return new Expression.Negate(unary());
+        if (accept("+")) return unary();
+        return primary();
+    }
+
+    private Expression primary() {
+        Token token = next();
+        switch (token.kind) {
+            case PARAM -> {
+                return adjacentStrings(new Expression.Param(paramCount++));
+            }
+            case STRING -> {
+                return adjacentStrings(new Expression.Literal(token.text));
+            }
+            case NUMBER -> {
+                return new Expression.Literal(token.text.contains(".") || token.text.contains("e") || token.text.contains("E")
+                        ? new BigDecimal(token.text) : (Object) Long.parseLong(token.text));
+            }
+            case QUOTED -> {
+                return new Expression.ColumnRef(columnName(token));
+            }
+            case SYMBOL -> {
+                if (token.is("(")) return parenthesized();
+                throw error("식이 필요한 위치", token);
+            }
+            case WORD -> {
+                return word(token);
+            }
+            default -> throw error("식이 필요한 위치", token);
+        }
+    }
+
+    private Expression word(Token token) {
+        String upper = token.upper();
+        switch (upper) {
+            case "NULL" -> {
+                return new Expression.Literal(null);
+            }
+            case "TRUE" -> {
+                return new Expression.Literal(1L);
+            }
+            case "FALSE" -> {
+                return new Expression.Literal(0L);
+            }
+            case "INTERVAL" -> {
+                Expression amount = unary();
+                return new Expression.Interval(amount, intervalUnit(next()));
+            }
+        }
+
+        if (!peek().is("(")) {
+            if (upper.equals("CURRENT_TIMESTAMP") || upper.equals("CURRENT_DATE") || upper.equals("LOCALTIMESTAMP")) {
+                return new Expression.Function(upper, List.of());
+            }
+            return new Expression.ColumnRef(columnName(token));
+        }
+
+        // 함수 호출 (FIELD (id, ...) 처럼 이름 뒤 공백도 허용)
+        expect("(");
+        if (AGGREGATES.contains(upper)) {
+            if (upper.equals("COUNT") && accept("*")) {
+                expect(")");
+                return new Expression.Aggregate("COUNT", null, false);
+            }
+            boolean distinct = acceptKeyword("DISTINCT");
+            Expression argument = expression();
+            expect(")");
+            return new Expression.Aggregate(upper, argument, distinct);
+        }
+
+        List<Expression> arguments = new ArrayList<>();
+        if (!peek().is(")")) {
+            do {
+                arguments.add(expression());
+            } while (accept(","));
+        }
+        expect(")");
+        return new Expression.Function(upper, arguments);
+    }
+
+    // MySQL 은 붙어 있는 문자열을 이어 붙임: CONCAT('%', ? '%')
+    private Expression adjacentStrings(Expression first) {
+        if (peek().kind != Kind.STRING) return first;
+
+        List<Expression> parts = new ArrayList<>();
+        parts.add(first);
+        while (peek().kind == Kind.STRING) {
+            parts.add(new Expression.Literal(next().text));
+        }
+        return new Expression.Function("CONCAT", parts);
+    }
+
+    private ChronoUnit intervalUnit(Token token) {
+        return switch (token.upper()) {
+            case "MICROSECOND" -> ChronoUnit.MICROS;
+            case "SECOND" -> ChronoUnit.SECONDS;
+            case "MINUTE" -> ChronoUnit.MINUTES;
+            case "HOUR" -> ChronoUnit.HOURS;
+            case "DAY" -> ChronoUnit.DAYS;
+            case "WEEK" -> ChronoUnit.WEEKS;
+            case "MONTH" -> ChronoUnit.MONTHS;
+            case "YEAR" -> ChronoUnit.YEARS;
+            default -> throw error("지원하지 않는 INTERVAL 단위", token);
+        };
+    }
+
+    // table.column 은 마지막 이름만 사용, 한정자는 parse() 끝에서 문장의 테이블과 비교
+    private String columnName(Token token) {
+        Token qualifier = null;
+        Token column = token;
+        while (peek().is(".") && peek(1).isIdentifier()) {
+            next();
+            qualifier = column;
+            column = next();
+        }
+        if (qualifier != null) qualifiers.add(qualifier);
+        return column.text;
+    }
+
+    private String column() {
+        Token token = next();
+        if (!token.isIdentifier()) {
+            throw error("이름이 필요한 위치", token);
+        }
+        return columnName(token);
+    }
+
+    // schema.table 은 마지막 이름만 사용
+    private String qualified(String name) {
+        while (peek().is(".") && peek(1).isIdentifier()) {
+            next();
+            name = next().text;
+        }
+        return name;
+    }
+
+    private String identifier() {
+        Token token = next();
+        if (!token.isIdentifier()) {
+            throw error("이름이 필요한 위치", token);
+        }
+        return qualified(token.text);
+    }
+
+    private Token peek() {
+        return peek(0);
+    }
+
+    private Token peek(int offset) {
+        return tokens.get(Math.min(position + offset, tokens.size() - 1));
+    }
+
+    private Token next() {
+        Token token = peek();
+        if (position < tokens.size() - 1) position++;
+        return token;
+    }
+
+    private boolean accept(String symbol) {
+        if (peek().is(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) throw error("'" + symbol + "' 가 필요합니다");
+    }
+
+    private boolean peekKeyword(String keyword) {
+        return peek().isKeyword(keyword);
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (peekKeyword(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) throw error(keyword + " 가 필요합니다");
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, peek());
+    }
+
+    private IllegalArgumentException error(String message, Token token) {
+        String near = token.kind == Kind.END ? "문장 끝" : sql.substring(token.start, Math.min(sql.length(), token.start + 30));
+        return new IllegalArgumentException(message + ": near '" + near + "'");
+    }
+
+    private enum Kind {
+        WORD, QUOTED, STRING, NUMBER, PARAM, SYMBOL, END
+    }
+
+    private record Token(Kind kind, String text, int start, int end) {
+        boolean is(String symbol) {
+            return kind == Kind.SYMBOL && text.equals(symbol);
+        }
+
+        boolean isKeyword(String keyword) {
+            return kind == Kind.WORD && text.equalsIgnoreCase(keyword);
+        }
+
+        boolean isIdentifier() {
+            return kind == Kind.WORD || kind == Kind.QUOTED;
+        }
+
+        String upper() {
+            return text.toUpperCase();
+        }
+    }
+
+    private static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            int start = i;
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && sql.startsWith("-- ", i) || c == '#') {
+                while (i < sql.length() && sql.charAt(i) != '\n') i++;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else if (c == '\'' || c == '"') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= sql.length()) throw new IllegalArgumentException("문자열이 닫히지 않았습니다");
+                    char ch = sql.charAt(i);
+                    if (ch == '\\' && i + 1 < sql.length()) {
+                        char escaped = sql.charAt(i + 1);
+                        text.append(switch (escaped) {
+                            case 'n' -> '\n';
+                            case 't' -> '\t';
+                            case 'r' -> '\r';
+                            case '0' -> '\0';
+                            default -> escaped;
+                        });
+                        i += 2;
+                    } else if (ch == c && i + 1 < sql.length() && sql.charAt(i + 1) == c) {
+                        text.append(c);
+                        i += 2;
+                    } else if (ch == c) {
+                        i++;
+                        break;
+                    } else {
+                        text.append(ch);
+                        i++;
+                    }
+                }
+                tokens.add(new Token(Kind.STRING, text.toString(), start, i));
+            } else if (c == '`') {
+                int end = sql.indexOf('`', i + 1);
+                if (end < 0) throw new IllegalArgumentException("` 가 닫히지 않았습니다");
+                tokens.add(new Token(Kind.QUOTED, sql.substring(i + 1, end), start, end + 1));
+                i = end + 1;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < sql.length() && Character.isDigit(sql.charAt(i + 1)))) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) i++;
+                if (i < sql.length() && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+                    i++;
+                    if (i < sql.length() && (sql.charAt(i) == '+' || sql.charAt(i) == '-')) i++;
+                    while (i < sql.length() && Character.isDigit(sql.charAt(i))) i++;
+                }
+                tokens.add(new Token(Kind.NUMBER, sql.substring(start, i), start, i));
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) i++;
+                tokens.add(new Token(Kind.WORD, sql.substring(start, i), start, i));
+            } else if (c == '?') {
+                tokens.add(new Token(Kind.PARAM, "?", start, ++i));
+            } else {
+                String symbol = sql.startsWith("<=>", i) ? "<=>"
+                        : List.of("<=", ">=", "<>", "!=", "||", "&&").contains(sql.substring(i, Math.min(sql.length(), i + 2)))
+                        ? sql.substring(i, i + 2) : String.valueOf(c);
+                if (!"(),.;*=<>!+-/%|&".contains(symbol.substring(0, 1))) {
+                    throw new IllegalArgumentException("해석할 수 없는 문자 '" + c + "'");
+                }
+                i += symbol.length();
+                tokens.add(new Token(Kind.SYMBOL, symbol, start, i));
+            }
+        }
+        tokens.add(new Token(Kind.END, "", sql.length(), sql.length()));
+        return tokens;
+    }
+}
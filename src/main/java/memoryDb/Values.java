@@ -0,0 +1,141 @@
+package memoryDb;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+// MySQL 과 비슷한 값 비교/변환 규칙 (정수는 Long, 날짜시간은 LocalDateTime 으로 저장)
+final class Values {
+    private static final DateTimeFormatter DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private Values() {
+    }
+
+    // 둘 다 null 이 아니어야 함
+    static int compare(Object left, Object right) {
+        if (left instanceof Boolean || right instanceof Boolean) {
+            return toDecimal(left).compareTo(toDecimal(right));
+        }
+        if (left instanceof Number || right instanceof Number) {
+            return toDecimal(left).compareTo(toDecimal(right));
+        }
+        if (left instanceof LocalDateTime || right instanceof LocalDateTime) {
+            return toDateTime(left).compareTo(toDateTime(right));
+        }
+        // 기본 collation 처럼 대소문자 무시
+        return String.CASE_INSENSITIVE_ORDER.compare(toText(left), toText(right));
+    }
+
+    // ORDER BY 용 (NULL 이 가장 앞)
+    static int compareNullsFirst(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        return compare(left, right);
+    }
+
+    static Boolean truth(Object value) {
+        if (value == null) return null;
+        if (value instanceof Boolean bool) return bool;
+        return toDecimal(value).signum() != 0;
+    }
+
+    static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) return decimal;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Number number) return BigDecimal.valueOf(number.doubleValue());
+        if (value instanceof Boolean bool) return bool ? BigDecimal.ONE : BigDecimal.ZERO;
+        // 숫자로 시작하지 않는 문자열은 0 (MySQL 의 암묵 변환)
+        String text = toText(value).trim();
+        int end = 0;
+        while (end < text.length() && (Character.isDigit(text.charAt(end)) || "+-.eE".indexOf(text.charAt(end)) >= 0)) {
+            end++;
+        }
+        try {
+            return new BigDecimal(text.substring(0, end));
+        } catch (NumberFormatException e) {
+            return BigDecimal.ZERO;
+        }
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Number number && !(value instanceof BigDecimal)) return number.longValue();
+        return toDecimal(value).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    static LocalDateTime toDateTime(Object value) {
+        if (value instanceof LocalDateTime dateTime) return dateTime;
+        if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime();
+        if (value instanceof java.sql.Date date) return date.toLocalDate().atStartOfDay();
+        if (value instanceof LocalDate date) return date.atStartOfDay();
+        String text = toText(value).trim();
+        try {
+            return text.length() <= 10
+                    ? LocalDate.parse(text).atStartOfDay()
+                    : LocalDateTime.parse(text.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜시간으로 변환할 수 없는 값: " + value);
+        }
+    }
+
+    static String toText(Object value) {
+        if (value == null) return null;
+        if (value instanceof LocalDateTime dateTime) return DATETIME.format(dateTime);
+        if (value instanceof BigDecimal decimal) return decimal.toPlainString();
+        if (value instanceof Boolean bool) return bool ? "1" : "0";
+        if (value instanceof byte[] bytes) return new String(bytes);
+        return value.toString();
+    }
+
+    // 컬럼 타입에 맞춘 저장 형태
+    static Object coerce(Object value, MemoryTable.ColumnType type) {
+        if (value == null) return null;
+        return switch (type) {
+            case INTEGER, BIGINT -> toLong(value);
+            case DECIMAL -> toDecimal(value);
+            case DOUBLE -> toDecimal(value).doubleValue();
+            case BIT -> truth(value);
+            case VARCHAR, TEXT -> toText(value);
+            // DATETIME 은 초 단위 (소수초는 반올림)
+            case DATETIME -> toDateTime(value).plusNanos(500_000_000).truncatedTo(ChronoUnit.SECONDS);
+            case DATE -> java.sql.Date.valueOf(toDateTime(value).toLocalDate());
+            case BLOB -> value instanceof byte[] ? value : toText(value).getBytes();
+        };
+    }
+
+    // 산술 결과: 정수끼리는 Long, 그 외는 BigDecimal
+    static Object arithmetic(char operator, Object left, Object right) {
+        if (left == null || right == null) return null;
+        boolean integral = isIntegral(left) && isIntegral(right);
+        if (integral && operator != '/') {
+            long a = toLong(left);
+            long b = toLong(right);
+            return switch (operator) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                default -> b == 0 ? null : a % b;
+            };
+        }
+        BigDecimal a = toDecimal(left);
+        BigDecimal b = toDecimal(right);
+        return switch (operator) {
+            case '+' -> a.add(b);
+            case '-' -> a.subtract(b);
+            case '*' -> a.multiply(b);
+            case '/' -> b.signum() == 0 ? null : a.divide(b, a.scale() + 4, RoundingMode.HALF_UP);
+            default -> b.signum() == 0 ? null : a.remainder(b);
+        };
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Boolean;
+    }
+}
@@ -0,0 +1,293 @@
+package simpleDb;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 커넥션 풀 앞단의 동시 실행 제한기
+// 우선순위 대기열 + 태그별 동시 실행 제한 + 지연시간에 따라 줄어드는 적응형 limit
+public class AdmissionController {
+    public enum Priority {INTERACTIVE, BATCH}
+
+    public static final String DEFAULT_TAG = "default";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueLength;
+    private final long maxQueueWaitNanos;
+    // 평소 지연시간(baseline)의 몇 배를 넘으면 limit 을 줄일지
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Waiter> queue = new TreeSet<>(
+            Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.seq));
+    private final Map<String, Integer> tagInFlight = new HashMap<>();
+    private final Map<String, Integer> tagLimits = new ConcurrentHashMap<>();
+    private long seq;
+    private int inFlight;
+    private double limit;
+    private double smoothedLatencyNanos;
+    // onSample 에 반영된 지연시간 표본 수
+    private long latencySamples;
+    private double baselineLatencyNanos;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedDeadline = new LongAdder();
+    private final LongAdder rejectedTimeout = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private volatile long maxWaitNanos;
+
+    private final ThreadLocal<Caller> caller = ThreadLocal.withInitial(() -> Caller.DEFAULT);
+
+    public AdmissionController(int minLimit, int maxLimit, int maxQueueLength, long maxQueueWaitMillis, double latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("잘못된 동시 실행 제한: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueLength = maxQueueLength;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.latencyTolerance = latencyTolerance;
+        this.limit = maxLimit;
+    }
+
+    public void setTagLimit(String tag, int maxConcurrency) {
+        tagLimits.put(tag, maxConcurrency);
+    }
+
+    // 현재 스레드의 호출 우선순위/태그를 지정한 채로 작업 실행
+    public <T> T callAs(Priority priority, String tag, Supplier<T> work) {
+        return callAs(new Caller(priority, tag), work);
+    }
+
+    <T> T callAs(Caller current, Supplier<T> work) {
+        Caller previous = caller.get();
+        caller.set(current);
+        try {
+            return work.get();
+        } finally {
+            caller.set(previous);
+        }
+    }
+
+    Caller currentCaller() {
+        return caller.get();
+    }
+
+    public Permit acquire() {
+        return acquire(System.nanoTime() + maxQueueWaitNanos);
+    }
+
+    public Permit acquire(long deadlineNanos) {
+        Caller current = caller.get();
+        long start = System.nanoTime();
+        long deadline = Math.min(deadlineNanos, start + maxQueueWaitNanos);
+
+        lock.lock();
+        try {
+            if (queue.isEmpty() && hasCapacity(current.tag)) {
+                return grant(current.tag, 0);
+            }
+            if (queue.size() >= maxQueueLength) {
+                rejectedQueueFull.increment();
+                throw new AdmissionRejectedException(AdmissionRejectedException.Reason.QUEUE_FULL,
+                        "대기열이 가득 찼습니다: " + queue.size());
+            }
+            // 앞선 대기자 수와 평균 실행시간으로 예상 대기시간을 계산해 마감 전에 못 들어갈 요청은 바로 거절
+            long estimatedWait = (long) ((queue.headSet(new Waiter(current.priority, Long.MAX_VALUE, null, null)).size() + 1)
+                    * smoothedLatencyNanos / Math.max(1, (int) limit));
+            if (start + estimatedWait > deadline) {
+                rejectedDeadline.increment();
+                throw new AdmissionRejectedException(AdmissionRejectedException.Reason.DEADLINE,
+                        "마감 시간 내 실행 불가 (예상 대기 " + TimeUnit.NANOSECONDS.toMillis(estimatedWait) + "ms)");
+            }
+
+            Waiter waiter = new Waiter(current.priority, seq++, current.tag, lock.newCondition());
+            queue.add(waiter);
+            queued.increment();
+            // 앞의 대기자가 태그 제한에 막혀 있을 수 있으므로 바로 한번 배정 시도
+            dispatch();
+            try {
+                while (!waiter.granted) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.remove(waiter);
+                        rejectedTimeout.increment();
+                        throw new AdmissionRejectedException(AdmissionRejectedException.Reason.TIMEOUT,
+                                "대기 시간 초과 (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms)");
+                    }
+                    waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    release(grantedPermit(waiter, start), false);
+                } else {
+                    queue.remove(waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new AdmissionRejectedException(AdmissionRejectedException.Reason.INTERRUPTED, "대기 중 인터럽트");
+            }
+            return grantedPermit(waiter, start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grantedPermit(Waiter waiter, long start) {
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        if (waited > maxWaitNanos) {
+            maxWaitNanos = waited;
+        }
+        return new Permit(waiter.tag, System.nanoTime());
+    }
+
+    private boolean hasCapacity(String tag) {
+        return inFlight < (int) limit
+                && tagInFlight.getOrDefault(tag, 0) < tagLimits.getOrDefault(tag, Integer.MAX_VALUE);
+    }
+
+    private Permit grant(String tag, long waited) {
+        inFlight++;
+        tagInFlight.merge(tag, 1, Integer::sum);
+        admitted.increment();
+        totalWaitNanos.add(waited);
+        return new Permit(tag, System.nanoTime());
+    }
+
+    // 깨울 수 있는 대기자를 우선순위 순서로 깨움 (태그 제한에 걸린 대기자는 건너뜀)
+    private void dispatch() {
+        var it = queue.iterator();
+        while (it.hasNext() && inFlight < (int) limit) {
+            Waiter waiter = it.next();
+            if (hasCapacity(waiter.tag)) {
+                it.remove();
+                inFlight++;
+                tagInFlight.merge(waiter.tag, 1, Integer::sum);
+                admitted.increment();
+                waiter.granted = true;
+                waiter.condition.signal();
+            }
+        }
+    }
+
+    void release(Permit permit, boolean recordLatency) {
+        lock.lock();
+        try {
+            inFlight--;
+            tagInFlight.merge(permit.tag, -1, Integer::sum);
+            if (recordLatency) {
+                onSample(System.nanoTime() - permit.startNanos);
+            }
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // permit 과 무관하게 잰 문장 단위 지연시간 (트랜잭션 안의 문장)
+    void sample(long latencyNanos) {
+        lock.lock();
+        try {
+            onSample(latencyNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // AIMD: baseline 대비 지연이 커지면 limit 을 10% 줄이고, 아니면 천천히 늘림
+    private void onSample(long latencyNanos) {
+        latencySamples++;
+        smoothedLatencyNanos = smoothedLatencyNanos == 0 ? latencyNanos : smoothedLatencyNanos * 0.8 + latencyNanos * 0.2;
+        baselineLatencyNanos = baselineLatencyNanos == 0 || latencyNanos < baselineLatencyNanos
+                ? latencyNanos
+                : baselineLatencyNanos + (latencyNanos - baselineLatencyNanos) / 100;
+
+        if (smoothedLatencyNanos > baselineLatencyNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * 0.9);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    // 측정 구간을 새로 시작할 때 (예: 부하 테스트 워밍업 이후) 최대 대기시간만 초기화, 나머지는 누적값의 차이로 계산
+    public void resetMaxWait() {
+        maxWaitNanos = 0;
+    }
+
+    public AdmissionStats stats() {
+        lock.lock();
+        try {
+            long admittedCount = admitted.sum();
+            return new AdmissionStats((int) limit, inFlight, queue.size(), admittedCount, queued.sum(),
+                    rejectedQueueFull.sum(), rejectedDeadline.sum(), rejectedTimeout.sum(),
+                    admittedCount == 0 ? 0 : totalWaitNanos.sum() / admittedCount, totalWaitNanos.sum(), maxWaitNanos,
+                    (long) smoothedLatencyNanos, latencySamples);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public class Permit {
+        private final String tag;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(String tag, long startNanos) {
+            this.tag = tag;
+            this.startNanos = startNanos;
+        }
+
+        public void release() {
+            if (!released) {
+                released = true;
+                AdmissionController.this.release(this, true);
+            }
+        }
+
+        // 트랜잭션처럼 애플리케이션 처리 시간까지 포함해 오래 잡는 permit 은 지연시간 표본에서 제외
+        void releaseUnmeasured() {
+            if (!released) {
+                released = true;
+                AdmissionController.this.release(this, false);
+            }
+        }
+    }
+
+    public record AdmissionStats(int limit, int inFlight, int queueLength, long admitted, long queued,
+                                 long rejectedQueueFull, long rejectedDeadline, long rejectedTimeout,
+                                 long avgWaitNanos, long totalWaitNanos, long maxWaitNanos, long smoothedLatencyNanos,
+                                 long latencySamples) {
+        public long rejected() {
+            return rejectedQueueFull + rejectedDeadline + rejectedTimeout;
+        }
+    }
+
+    record Caller(Priority priority, String tag) {
+        static final Caller DEFAULT = new Caller(Priority.INTERACTIVE, DEFAULT_TAG);
+    }
+
+    private static class Waiter {
+        private final Priority priority;
+        private final long seq;
+        private final String tag;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Priority priority, long seq, String tag, Condition condition) {
+            this.priority = priority;
+            this.seq = seq;
+            this.tag = tag;
+            this.condition = condition;
+        }
+    }
+}
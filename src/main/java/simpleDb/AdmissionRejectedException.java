@@ -0,0 +1,16 @@
+package simpleDb;
+
+public class AdmissionRejectedException extends RuntimeException {
+    public enum Reason {QUEUE_FULL, DEADLINE, TIMEOUT, INTERRUPTED}
+
+    private final Reason reason;
+
+    public AdmissionRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
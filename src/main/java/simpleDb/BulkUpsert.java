@@ -0,0 +1,132 @@
+package simpleDb;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// 여러 행을 INSERT ... VALUES (...), (...) ON DUPLICATE KEY UPDATE 로 묶어서 실행
+class BulkUpsert {
+    // prepared statement 의 placeholder 최대 개수
+    private static final int MAX_PLACEHOLDERS = 65535;
+
+    private final SimpleDb simpleDb;
+    private final String table;
+    private final List<String> keyColumns;
+    private final UpsertOptions options;
+    // INSERT 값으로만 쓰고 기존 행에서는 덮어쓰지 않는 컬럼
+    private final Set<String> keptColumns;
+
+    BulkUpsert(SimpleDb simpleDb, String table, List<String> keyColumns, UpsertOptions options) {
+        this(simpleDb, table, keyColumns, options, Set.of());
+    }
+
+    BulkUpsert(SimpleDb simpleDb, String table, List<String> keyColumns, UpsertOptions options, Set<String> keptColumns) {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("keyColumns 가 비어 있습니다");
+        }
+        this.simpleDb = simpleDb;
+        this.table = table;
+        this.keyColumns = keyColumns;
+        this.options = options;
+        this.keptColumns = keptColumns;
+    }
+
+    UpsertResult execute(List<Map<String, Object>> rows) {
+        UpsertResult result = new UpsertResult(0, 0, 0);
+        if (rows.isEmpty()) return result;
+
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        if (options.isTouchModifiedDate()) {
+            columns.remove(options.getModifiedDateColumn());
+        }
+        if (!columns.containsAll(keyColumns)) {
+            throw new IllegalArgumentException("행에 키 컬럼이 없습니다: " + keyColumns);
+        }
+        for (Map<String, Object> row : rows) {
+            if (!row.keySet().containsAll(columns)) {
+                throw new IllegalArgumentException("모든 행의 컬럼이 같아야 합니다: " + row.keySet());
+            }
+        }
+
+        String prefix = "INSERT INTO " + table + " (" + String.join(", ", quote(columns))
+                + (options.isTouchModifiedDate() ? ", " + quote(options.getModifiedDateColumn()) : "") + ") VALUES ";
+        String rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?"))
+                + (options.isTouchModifiedDate() ? ", NOW()" : "") + ")";
+        String suffix = " ON DUPLICATE KEY UPDATE " + updateClause(columns);
+
+        int maxRows = Math.max(1, Math.min(options.getMaxRowsPerStatement(), MAX_PLACEHOLDERS / Math.max(1, columns.size())));
+        int fixedBytes = prefix.length() + suffix.length();
+
+        List<Object> params = new ArrayList<>();
+        int chunkRows = 0;
+        int chunkBytes = fixedBytes;
+        for (Map<String, Object> row : rows) {
+            int rowBytes = rowPlaceholders.length() + 2;
+            for (String column : columns) {
+                rowBytes += estimateBytes(row.get(column));
+            }
+
+            if (chunkRows > 0 && (chunkRows >= maxRows || chunkBytes + rowBytes > options.getMaxStatementBytes())) {
+                result = flush(result, prefix, rowPlaceholders, suffix, chunkRows, params);
+                params.clear();
+                chunkRows = 0;
+                chunkBytes = fixedBytes;
+            }
+
+            for (String column : columns) {
+                params.add(row.get(column));
+            }
+            chunkRows++;
+            chunkBytes += rowBytes;
+        }
+        return flush(result, prefix, rowPlaceholders, suffix, chunkRows, params);
+    }
+
+    private UpsertResult flush(UpsertResult result, String prefix, String rowPlaceholders, String suffix,
+                               int chunkRows, List<Object> params) {
+        String sql = prefix + String.join(", ", Collections.nCopies(chunkRows, rowPlaceholders)) + suffix;
+        int affectedRows = simpleDb.run(sql, params.toArray());
+        return result.plus(chunkRows, affectedRows);
+    }
+
+    private String updateClause(List<String> columns) {
+        // 기본값은 키 컬럼과 생성 시각(createdDate)을 뺀 전체 (기존 행의 생성 시각은 덮어쓰지 않음)
+        List<String> updateColumns = options.getUpdateColumns() != null
+                ? options.getUpdateColumns()
+                : columns.stream()
+                .filter(column -> !keyColumns.contains(column))
+                .filter(column -> !column.equals(options.getCreatedDateColumn()))
+                .toList();
+
+        List<String> assignments = new ArrayList<>();
+        for (String column : updateColumns) {
+            if (!columns.contains(column)) {
+                throw new IllegalArgumentException("행에 없는 update 컬럼: " + column);
+            }
+            if (keptColumns.contains(column)) continue;
+            assignments.add(quote(column) + " = VALUES(" + quote(column) + ")");
+        }
+        if (options.isTouchModifiedDate()) {
+            assignments.add(quote(options.getModifiedDateColumn()) + " = NOW()");
+        }
+        // 갱신할 컬럼이 없으면 키 컬럼 자기 대입으로 "있으면 그대로" 처리
+        if (assignments.isEmpty()) {
+            assignments.add(quote(keyColumns.get(0)) + " = " + quote(keyColumns.get(0)));
+        }
+        return String.join(", ", assignments);
+    }
+
+    private static List<String> quote(List<String> columns) {
+        return columns.stream().map(BulkUpsert::quote).toList();
+    }
+
+    private static String quote(String column) {
+        return "`" + column + "`";
+    }
+
+    private static int estimateBytes(Object value) {
+        if (value == null) return 4;
+        if (value instanceof String string) return string.getBytes(StandardCharsets.UTF_8).length + 2;
+        if (value instanceof byte[] bytes) return bytes.length * 2 + 3;
+        return 24;
+    }
+}
@@ -0,0 +1,391 @@
+package simpleDb;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+
+// 컬럼 단위 primitive 배열로 담은 조회 결과 (집계/리포트용)
+// 숫자는 long[]/int[]/double[]/boolean[], 문자열은 사전 인코딩, DATETIME 은 epoch millis long[]
+public class ColumnarResult {
+    private final List<String> columnNames;
+    private final Map<String, Integer> columnIndexes;
+    private final List<Column> columns;
+    private final int rowCount;
+
+    private ColumnarResult(List<String> columnNames, List<Column> columns, int rowCount) {
+        this.columnNames = List.copyOf(columnNames);
+        this.columns = List.copyOf(columns);
+        this.rowCount = rowCount;
+        this.columnIndexes = new HashMap<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            columnIndexes.putIfAbsent(columnNames.get(i), i);
+        }
+    }
+
+    public static ColumnarResult from(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+
+        List<String> names = new ArrayList<>(columnCount);
+        List<ColumnBuilder> builders = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            names.add(metaData.getColumnLabel(i));
+            builders.add(builderFor(metaData.getColumnType(i)));
+        }
+
+        int rowCount = 0;
+        while (resultSet.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                builders.get(i).add(resultSet, i + 1, rowCount);
+            }
+            rowCount++;
+        }
+
+        List<Column> columns = new ArrayList<>(columnCount);
+        for (ColumnBuilder builder : builders) {
+            columns.add(builder.build(rowCount));
+        }
+        return new ColumnarResult(names, columns, rowCount);
+    }
+
+    private static ColumnBuilder builderFor(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> new IntBuilder();
+            case Types.BIGINT -> new LongBuilder();
+            case Types.FLOAT, Types.REAL, Types.DOUBLE, Types.DECIMAL, Types.NUMERIC -> new DoubleBuilder();
+            case Types.BIT, Types.BOOLEAN -> new BooleanBuilder();
+            case Types.DATE, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> new DateTimeBuilder();
+            default -> new DictionaryBuilder();
+        };
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    public int indexOf(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        if (index == null) {
+            throw new NoSuchElementException("존재하지 않는 컬럼: " + columnName);
+        }
+        return index;
+    }
+
+    public Column column(int index) {
+        return columns.get(index);
+    }
+
+    public Column column(String columnName) {
+        return columns.get(indexOf(columnName));
+    }
+
+    public long[] longs(String columnName) {
+        return column(columnName).toLongArray();
+    }
+
+    public int[] ints(String columnName) {
+        return typed(columnName, IntColumn.class).values();
+    }
+
+    public double[] doubles(String columnName) {
+        return column(columnName).toDoubleArray();
+    }
+
+    public boolean[] booleans(String columnName) {
+        return typed(columnName, BooleanColumn.class).values();
+    }
+
+    public StringColumn strings(String columnName) {
+        return typed(columnName, StringColumn.class);
+    }
+
+    public long[] epochMillis(String columnName) {
+        return typed(columnName, DateTimeColumn.class).values();
+    }
+
+    private <C extends Column> C typed(String columnName, Class<C> type) {
+        Column column = column(columnName);
+        if (!type.isInstance(column)) {
+            throw new IllegalStateException(columnName + " 은 " + type.getSimpleName() + " 이 아닙니다: " + column.getClass().getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    public abstract static class Column {
+        protected final BitSet nulls;
+
+        protected Column(BitSet nulls) {
+            this.nulls = nulls;
+        }
+
+        public boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        public abstract Object get(int row);
+
+        public long[] toLongArray() {
+            throw new IllegalStateException(getClass().getSimpleName() + " 은 정수 컬럼이 아닙니다");
+        }
+
+        public double[] toDoubleArray() {
+            long[] longs = toLongArray();
+            double[] doubles = new double[longs.length];
+            for (int i = 0; i < longs.length; i++) doubles[i] = longs[i];
+            return doubles;
+        }
+    }
+
+    public static class LongColumn extends Column {
+        private final long[] values;
+
+        private LongColumn(long[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public long[] values() {
+            return values;
+        }
+
+        public long get(int row, long defaultValue) {
+            return isNull(row) ? defaultValue : values[row];
+        }
+
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        public long[] toLongArray() {
+            return values;
+        }
+    }
+
+    public static class IntColumn extends Column {
+        private final int[] values;
+
+        private IntColumn(int[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public int[] values() {
+            return values;
+        }
+
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        public long[] toLongArray() {
+            return Arrays.stream(values).asLongStream().toArray();
+        }
+    }
+
+    public static class DoubleColumn extends Column {
+        private final double[] values;
+
+        private DoubleColumn(double[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public double[] values() {
+            return values;
+        }
+
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        public double[] toDoubleArray() {
+            return values;
+        }
+    }
+
+    public static class BooleanColumn extends Column {
+        private final boolean[] values;
+
+        private BooleanColumn(boolean[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public boolean[] values() {
+            return values;
+        }
+
+        public Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+    }
+
+    // DATETIME 은 JVM 기본 타임존 기준 epoch millis (드라이버가 serverTimezone 값을 JVM 타임존으로 변환해 줌)
+    public static class DateTimeColumn extends Column {
+        private final long[] values;
+
+        private DateTimeColumn(long[] values, BitSet nulls) {
+            super(nulls);
+            this.values = values;
+        }
+
+        public long[] values() {
+            return values;
+        }
+
+        public Object get(int row) {
+            return isNull(row) ? null : new Timestamp(values[row]).toLocalDateTime();
+        }
+
+        public long[] toLongArray() {
+            return values;
+        }
+    }
+
+    // 같은 문자열은 사전에 한 번만 저장하고 행마다 코드(int)만 보관
+    public static class StringColumn extends Column {
+        private final int[] codes;
+        private final String[] dictionary;
+
+        private StringColumn(int[] codes, String[] dictionary, BitSet nulls) {
+            super(nulls);
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        public int[] codes() {
+            return codes;
+        }
+
+        public String[] dictionary() {
+            return dictionary;
+        }
+
+        public String get(int row) {
+            return isNull(row) ? null : dictionary[codes[row]];
+        }
+    }
+
+    private abstract static class ColumnBuilder {
+        protected final BitSet nulls = new BitSet();
+        protected int capacity = 64;
+
+        abstract void add(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+        abstract Column build(int rowCount);
+
+        protected boolean grow(int row) {
+            if (row < capacity) return false;
+            capacity = capacity * 2;
+            return true;
+        }
+    }
+
+    private static class LongBuilder extends ColumnBuilder {
+        private long[] values = new long[capacity];
+
+        void add(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (grow(row)) values = Arrays.copyOf(values, capacity);
+            values[row] = resultSet.getLong(columnIndex);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        Column build(int rowCount) {
+            return new LongColumn(Arrays.copyOf(values, rowCount), nulls);
+        }
+    }
+
+    private static class IntBuilder extends ColumnBuilder {
+        private int[] values = new int[capacity];
+
+        void add(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (grow(row)) values = Arrays.copyOf(values, capacity);
+            values[row] = resultSet.getInt(columnIndex);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        Column build(int rowCount) {
+            return new IntColumn(Arrays.copyOf(values, rowCount), nulls);
+        }
+    }
+
+    private static class DoubleBuilder extends ColumnBuilder {
+        private double[] values = new double[capacity];
+
+        void add(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (grow(row)) values = Arrays.copyOf(values, capacity);
+            values[row] = resultSet.getDouble(columnIndex);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        Column build(int rowCount) {
+            return new DoubleColumn(Arrays.copyOf(values, rowCount), nulls);
+        }
+    }
+
+    private static class BooleanBuilder extends ColumnBuilder {
+        private boolean[] values = new boolean[capacity];
+
+        void add(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (grow(row)) values = Arrays.copyOf(values, capacity);
+            values[row] = resultSet.getBoolean(columnIndex);
+            if (resultSet.wasNull()) nulls.set(row);
+        }
+
+        Column build(int rowCount) {
+            return new BooleanColumn(Arrays.copyOf(values, rowCount), nulls);
+        }
+    }
+
+    private static class DateTimeBuilder extends ColumnBuilder {
+        private long[] values = new long[capacity];
+
+        void add(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (grow(row)) values = Arrays.copyOf(values, capacity);
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            if (timestamp == null) {
+                nulls.set(row);
+            } else {
+                values[row] = timestamp.getTime();
+            }
+        }
+
+        Column build(int rowCount) {
+            return new DateTimeColumn(Arrays.copyOf(values, rowCount), nulls);
+        }
+    }
+
+    private static class DictionaryBuilder extends ColumnBuilder {
+        private int[] codes = new int[capacity];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> entries = new ArrayList<>();
+
+        void add(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            if (grow(row)) codes = Arrays.copyOf(codes, capacity);
+            String value = resultSet.getString(columnIndex);
+            if (value == null) {
+                nulls.set(row);
+                return;
+            }
+            codes[row] = dictionary.computeIfAbsent(value, v -> {
+                entries.add(v);
+                return entries.size() - 1;
+            });
+        }
+
+        Column build(int rowCount) {
+            return new StringColumn(Arrays.copyOf(codes, rowCount), entries.toArray(String[]::new), nulls);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package simpleDb;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 풀 대기 + 쿼리 실행 전체에 걸리는 마감 시각 (System.nanoTime 기준)
+public final class Deadline {
+    private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    // 현재 스레드에 마감 시각을 건 채로 작업 실행, 바깥 마감이 더 빠르면 바깥 것을 유지
+    public static <T> T within(Duration timeout, Supplier<T> work) {
+        return within(after(timeout), work);
+    }
+
+    static <T> T within(Deadline deadline, Supplier<T> work) {
+        Deadline previous = current.get();
+        if (previous != null && previous.deadlineNanos - deadline.deadlineNanos < 0) {
+            deadline = previous;
+        }
+        current.set(deadline);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    public long nanoTime() {
+        return deadlineNanos;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    // Statement.setQueryTimeout 은 초 단위라 올림 처리 (0 은 무제한이므로 최소 1초)
+    int remainingSeconds() {
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,131 @@
+package simpleDb;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 엔티티 클래스별 테이블/컬럼 정보 (클래스당 한 번만 리플렉션)
+// 테이블명 = 클래스명 첫 글자 소문자, 컬럼명 = 필드명 첫 글자 소문자, 주키 = id 필드
+public class EntityMetadata<T> {
+    private static final Map<Class<?>, EntityMetadata<?>> cache = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    private final String tableName;
+    private final String idColumn;
+    private final Map<String, Field> fields;
+    private final Set<String> lazyColumns;
+
+    private EntityMetadata(Class<T> type) {
+        this.type = type;
+        this.tableName = decapitalize(type.getSimpleName());
+
+        Map<String, Field> fields = new LinkedHashMap<>();
+        Set<String> lazyColumns = new LinkedHashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+            field.setAccessible(true);
+            fields.put(decapitalize(field.getName()), field);
+            if (field.isAnnotationPresent(Lazy.class)) lazyColumns.add(decapitalize(field.getName()));
+        }
+        this.fields = Collections.unmodifiableMap(fields);
+        this.lazyColumns = Collections.unmodifiableSet(lazyColumns);
+
+        if (!fields.containsKey("id")) {
+            throw new IllegalArgumentException(type.getSimpleName() + " 에 id 필드가 없습니다");
+        }
+        this.idColumn = "id";
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> type) {
+        return (EntityMetadata<T>) cache.computeIfAbsent(type, EntityMetadata::new);
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    public Set<String> getColumns() {
+        return fields.keySet();
+    }
+
+    // @Lazy 컬럼을 뺀 나머지 (엔티티 조회의 SELECT 목록)
+    public List<String> getEagerColumns() {
+        return fields.keySet().stream().filter(column -> !lazyColumns.contains(column)).toList();
+    }
+
+    public Set<String> getLazyColumns() {
+        return lazyColumns;
+    }
+
+    public boolean hasColumn(String column) {
+        return fields.containsKey(column);
+    }
+
+    // SELECT `a`, `b` FROM table + tail (tail 은 WHERE / ORDER BY / LIMIT, 없으면 빈 문자열)
+    public String selectSql(Collection<String> columns, String tail) {
+        return "SELECT " + String.join(", ", columns.stream().map(LazyPage::quote).toList())
+                + " FROM " + tableName
+                + (tail == null || tail.isBlank() ? "" : " " + tail.trim());
+    }
+
+    public Object getId(T entity) {
+        return get(entity, idColumn);
+    }
+
+    public Object get(T entity, String column) {
+        try {
+            return field(column).get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("필드 읽기 실패: " + column, e);
+        }
+    }
+
+    public void set(T entity, String column, Object value) {
+        Field field = field(column);
+        try {
+            // id 처럼 DB 에서 Long/Integer 가 섞여 오는 값은 필드 타입에 맞춰 변환
+            if (value instanceof Number number && field.getType() != value.getClass()) {
+                value = switch (field.getType().getSimpleName()) {
+                    case "Long", "long" -> number.longValue();
+                    case "Integer", "int" -> number.intValue();
+                    default -> value;
+                };
+            }
+            field.set(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("필드 쓰기 실패: " + column, e);
+        }
+    }
+
+    // 컬럼 순서대로 현재 값 (null 포함)
+    public Map<String, Object> toColumnMap(T entity) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String column : fields.keySet()) {
+            values.put(column, get(entity, column));
+        }
+        return values;
+    }
+
+    private Field field(String column) {
+        Field field = fields.get(column);
+        if (field == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " 에 없는 컬럼: " + column);
+        }
+        return field;
+    }
+}
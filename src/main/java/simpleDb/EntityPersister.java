@@ -0,0 +1,153 @@
+package simpleDb;
+
+import java.util.*;
+
+// 엔티티 저장/수정: 조회 시점 스냅샷과 비교해서 바뀐 컬럼만 UPDATE
+// 바뀐 컬럼 조합이 같은 엔티티끼리는 하나의 JDBC batch 로 실행
+// 아직 읽지 않은 @Lazy 컬럼은 스냅샷에 키가 없고, 값을 직접 넣지 않는 한 쓰지 않음
+class EntityPersister {
+    private final SimpleDbImpl simpleDb;
+    private final EntitySnapshots snapshots = new EntitySnapshots();
+
+    EntityPersister(SimpleDbImpl simpleDb) {
+        this.simpleDb = simpleDb;
+    }
+
+    <T> void track(T entity) {
+        track(entity, List.of());
+    }
+
+    <T> void track(T entity, Collection<String> unloadedColumns) {
+        EntityMetadata<T> metadata = metadataOf(entity);
+        Map<String, Object> snapshot = metadata.toColumnMap(entity);
+        snapshot.keySet().removeAll(unloadedColumns);
+        snapshots.put(entity, snapshot);
+    }
+
+    // 아직 읽지 않았고 값도 넣지 않은 컬럼 (UPDATE/upsert 에서 빼야 하는 컬럼)
+    <T> Set<String> unloadedColumns(T entity) {
+        Map<String, Object> snapshot = snapshots.get(entity);
+        if (snapshot == null) return Set.of();
+
+        EntityMetadata<T> metadata = metadataOf(entity);
+        Set<String> unloaded = new LinkedHashSet<>();
+        for (String column : metadata.getColumns()) {
+            if (!snapshot.containsKey(column) && metadata.get(entity, column) == null) {
+                unloaded.add(column);
+            }
+        }
+        return unloaded;
+    }
+
+    // 필드가 조회 시점 그대로일 때만 나중에 읽은 값으로 채워도 됨 (호출자가 넣은 값은 덮어쓰지 않음)
+    <T> boolean isUntouched(T entity, String column) {
+        Object current = metadataOf(entity).get(entity, column);
+        Map<String, Object> snapshot = snapshots.get(entity);
+        if (snapshot == null || !snapshot.containsKey(column)) return current == null;
+        return Objects.equals(snapshot.get(column), current);
+    }
+
+    // 나중에 채운 @Lazy 컬럼은 조회 시점 값으로 취급 (바뀐 컬럼으로 잡히지 않게)
+    void loaded(Object entity, String column, Object value) {
+        Map<String, Object> snapshot = snapshots.get(entity);
+        if (snapshot != null) {
+            snapshot.put(column, value);
+        }
+    }
+
+    // id 가 없으면 INSERT 후 생성된 id 를 채우고, 있으면 update 와 동일
+    <T> T save(T entity, Collection<Object> pending) {
+        EntityMetadata<T> metadata = metadataOf(entity);
+        if (metadata.getId(entity) != null) {
+            update(entity, pending);
+            return entity;
+        }
+
+        Map<String, Object> values = metadata.toColumnMap(entity);
+        values.values().removeIf(Objects::isNull);
+
+        String sql = "INSERT INTO " + metadata.getTableName()
+                + " (" + String.join(", ", quote(values.keySet())) + ")"
+                + " VALUES (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")";
+        long id = simpleDb.insertReturningKey(sql, values.values().toArray());
+
+        metadata.set(entity, metadata.getIdColumn(), id);
+        track(entity);
+        return entity;
+    }
+
+    // 트랜잭션 중(pending != null)이면 commit 때 모아서 실행
+    <T> boolean update(T entity, Collection<Object> pending) {
+        EntityMetadata<T> metadata = metadataOf(entity);
+        if (metadata.getId(entity) == null) {
+            throw new IllegalArgumentException("id 가 없는 엔티티는 update 할 수 없습니다: " + entity);
+        }
+        if (changedColumns(metadata, entity).isEmpty()) {
+            return false;
+        }
+
+        if (pending != null) {
+            pending.add(entity);
+        } else {
+            flush(List.of(entity));
+        }
+        return true;
+    }
+
+    // 바뀐 컬럼 조합별로 묶어서 batch 실행
+    void flush(Collection<Object> entities) {
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        List<Object> flushed = new ArrayList<>();
+
+        for (Object entity : entities) {
+            EntityMetadata<Object> metadata = metadataOf(entity);
+            List<String> changed = changedColumns(metadata, entity);
+            if (changed.isEmpty()) continue;
+
+            String sql = "UPDATE " + metadata.getTableName()
+                    + " SET " + String.join(", ", quote(changed).stream().map(column -> column + " = ?").toList())
+                    + " WHERE " + quote(metadata.getIdColumn()) + " = ?";
+
+            Object[] params = new Object[changed.size() + 1];
+            for (int i = 0; i < changed.size(); i++) {
+                params[i] = metadata.get(entity, changed.get(i));
+            }
+            params[changed.size()] = metadata.getId(entity);
+
+            batches.computeIfAbsent(sql, k -> new ArrayList<>()).add(params);
+            flushed.add(entity);
+        }
+
+        batches.forEach(simpleDb::executeBatch);
+        flushed.forEach(entity -> track(entity, unloadedColumns(entity)));
+    }
+
+    private <T> List<String> changedColumns(EntityMetadata<T> metadata, T entity) {
+        Map<String, Object> snapshot = snapshots.get(entity);
+        List<String> changed = new ArrayList<>();
+        for (String column : metadata.getColumns()) {
+            if (column.equals(metadata.getIdColumn())) continue;
+            Object value = metadata.get(entity, column);
+            // 스냅샷이 없으면(직접 만든 객체) 전체 컬럼을 갱신
+            if (snapshot == null) {
+                changed.add(column);
+            } else if (snapshot.containsKey(column) ? !Objects.equals(snapshot.get(column), value) : value != null) {
+                changed.add(column);
+            }
+        }
+        return changed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> EntityMetadata<T> metadataOf(T entity) {
+        return EntityMetadata.of((Class<T>) entity.getClass());
+    }
+
+    private static List<String> quote(Collection<String> columns) {
+        return columns.stream().map(EntityPersister::quote).toList();
+    }
+
+    private static String quote(String column) {
+        return "`" + column + "`";
+    }
+}
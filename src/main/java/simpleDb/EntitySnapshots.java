@@ -0,0 +1,55 @@
+package simpleDb;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 조회 시점의 엔티티 컬럼 값 보관 (dirty checking 용)
+// @Data 엔티티는 equals/hashCode 가 값 기반이라 객체 identity 로 구분하고, 엔티티가 GC 되면 같이 정리
+class EntitySnapshots {
+    private final Map<IdentityKey, Map<String, Object>> snapshots = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    void put(Object entity, Map<String, Object> values) {
+        expunge();
+        snapshots.put(new IdentityKey(entity, collected), values);
+    }
+
+    Map<String, Object> get(Object entity) {
+        return snapshots.get(new IdentityKey(entity, null));
+    }
+
+    int size() {
+        expunge();
+        return snapshots.size();
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            snapshots.remove(reference);
+        }
+    }
+
+    private static class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        private IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof IdentityKey key)) return false;
+            Object referent = get();
+            return referent != null && referent == key.get();
+        }
+    }
+}
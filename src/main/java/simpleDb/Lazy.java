@@ -0,0 +1,13 @@
+package simpleDb;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 엔티티 조회(selectEntities/selectProjections)의 SELECT 목록에서 빼는 큰 컬럼 (TEXT, BLOB 등)
+// 엔티티 필드는 loadLazy 로, 프로젝션 인터페이스는 처음 접근할 때 페이지 전체를 한 번에 채움
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Lazy {
+}
@@ -0,0 +1,68 @@
+package simpleDb;
+
+import java.util.*;
+
+// 한 번의 엔티티 조회(페이지)에 속한 행들의 id
+// @Lazy 컬럼은 처음 필요할 때 페이지 전체를 WHERE id IN (...) 한 번으로 읽고, 이후에는 다시 조회하지 않음
+// 조회 시점이 아니라 접근 시점의 값을 읽음 (그 사이에 바뀐 값이 보일 수 있음)
+class LazyPage {
+    // IN 목록이 너무 길어지지 않도록 나눠서 조회
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final SimpleDbImpl simpleDb;
+    private final String table;
+    private final String idColumn;
+    private final List<Object> ids;
+    // 컬럼 -> (id -> 값), 프록시가 여러 스레드로 퍼질 수 있으므로 읽기/쓰기 모두 this 로 동기화
+    private final Map<String, Map<Object, Object>> loaded = new HashMap<>();
+
+    LazyPage(SimpleDbImpl simpleDb, String table, String idColumn, Collection<?> ids) {
+        this.simpleDb = simpleDb;
+        this.table = table;
+        this.idColumn = idColumn;
+        this.ids = ids.stream().filter(Objects::nonNull).distinct().map(id -> (Object) id).toList();
+    }
+
+    synchronized Object get(String column, Object id) {
+        load(List.of(column));
+        return loaded.get(column).get(key(id));
+    }
+
+    // 아직 안 읽은 컬럼만 모아서 한 번에 조회
+    synchronized void load(Collection<String> columns) {
+        List<String> missing = columns.stream().filter(column -> !loaded.containsKey(column)).distinct().toList();
+        if (!missing.isEmpty()) {
+            Map<String, Map<Object, Object>> values = new HashMap<>();
+            missing.forEach(column -> values.put(column, new HashMap<>()));
+
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                List<Object> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY));
+                for (Map<String, Object> row : select(missing, chunk)) {
+                    Object id = key(row.get(idColumn));
+                    missing.forEach(column -> values.get(column).put(id, row.get(column)));
+                }
+            }
+            loaded.putAll(values);
+        }
+    }
+
+    private List<Map<String, Object>> select(List<String> columns, List<Object> chunk) {
+        String sql = "SELECT " + quote(idColumn) + ", " + String.join(", ", columns.stream().map(LazyPage::quote).toList())
+                + " FROM " + table
+                + " WHERE " + quote(idColumn) + " IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+        try {
+            return simpleDb.executeQuery(sql, List.class, chunk.toArray());
+        } catch (NoSuchElementException e) {
+            return List.of();
+        }
+    }
+
+    // INT 는 Integer, INT UNSIGNED 는 Long 으로 오므로 숫자 id 는 long 으로 맞춤
+    private static Object key(Object id) {
+        return id instanceof Number number ? (Object) number.longValue() : id;
+    }
+
+    static String quote(String column) {
+        return "`" + column + "`";
+    }
+}
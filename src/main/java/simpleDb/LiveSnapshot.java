@@ -0,0 +1,148 @@
+package simpleDb;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 최초 1회 전체 조회 후, watermark 컬럼 기준으로 변경분만 가져와 주키로 병합하는 메모리 스냅샷
+// 늦게 커밋된 행은 watermark 보다 과거 modifiedDate 를 가질 수 있으므로 overlap 만큼 겹쳐서 다시 읽음
+// (overlap 보다 오래 걸린 트랜잭션의 변경은 reload 로만 잡힘)
+public class LiveSnapshot<T> implements AutoCloseable {
+    private final SimpleDb simpleDb;
+    private final String table;
+    private final String keyColumn;
+    private final String watermarkColumn;
+    private final Duration overlap;
+    private final Function<Map<String, Object>, T> mapper;
+
+    // refresh 스레드만 수정, 읽기는 항상 view 를 통해서
+    private final Map<Object, T> rows = new HashMap<>();
+    private LocalDateTime watermark;
+    private long sequence;
+
+    private volatile SortedMap<Object, T> view = Collections.emptySortedMap();
+    private volatile RefreshStats lastStats;
+    private volatile RuntimeException lastError;
+    private volatile Consumer<RefreshStats> listener = stats -> {};
+    private ScheduledFuture<?> scheduled;
+    // 만든 SimpleDb 의 추적 목록에서 빼기
+    private Runnable onClose = () -> {};
+
+    LiveSnapshot(SimpleDb simpleDb, String table, String keyColumn, String watermarkColumn, Duration overlap,
+                 Function<Map<String, Object>, T> mapper) {
+        this.simpleDb = simpleDb;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.watermarkColumn = watermarkColumn;
+        this.overlap = overlap;
+        this.mapper = mapper;
+    }
+
+    void schedule(ScheduledExecutorService scheduler, long intervalMillis, Runnable onClose) {
+        this.onClose = onClose;
+        scheduled = scheduler.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized RefreshStats refresh() {
+        long start = System.nanoTime();
+        boolean full = watermark == null;
+
+        List<Map<String, Object>> fetched;
+        try {
+            fetched = full
+                    ? simpleDb.executeQuery("SELECT * FROM " + table, List.class)
+                    // 겹치는 구간은 이미 본 행도 다시 오지만 값이 같으면 changed 로 세지 않음 (병합은 멱등)
+                    : simpleDb.executeQuery("SELECT * FROM " + table + " WHERE " + watermarkColumn + " >= ?", List.class,
+                    watermark.minus(overlap));
+        } catch (NoSuchElementException e) {
+            fetched = List.of();
+        }
+
+        int changed = 0;
+        for (Map<String, Object> row : fetched) {
+            T value = mapper.apply(row);
+            if (!value.equals(rows.put(row.get(keyColumn), value))) {
+                changed++;
+            }
+            Object modified = row.get(watermarkColumn);
+            if (modified instanceof LocalDateTime time && (watermark == null || time.isAfter(watermark))) {
+                watermark = time;
+            }
+        }
+
+        if (full || changed > 0) {
+            view = Collections.unmodifiableSortedMap(new TreeMap<>(rows));
+        }
+
+        RefreshStats stats = new RefreshStats(++sequence, full, fetched.size(), changed, rows.size(),
+                System.nanoTime() - start, watermark);
+        lastStats = stats;
+        lastError = null;
+        listener.accept(stats);
+        return stats;
+    }
+
+    // 스케줄러에서 예외가 나면 이후 실행이 멈추므로 기록만 하고 이전 스냅샷을 유지
+    private void refreshQuietly() {
+        try {
+            // 백그라운드 갱신은 대화형 요청보다 뒤로 양보
+            simpleDb.callAs(AdmissionController.Priority.BATCH, "liveSnapshot", this::refresh);
+        } catch (RuntimeException e) {
+            lastError = e;
+        }
+    }
+
+    public T get(Object key) {
+        return view.get(key);
+    }
+
+    public SortedMap<Object, T> view() {
+        return view;
+    }
+
+    public Collection<T> values() {
+        return view.values();
+    }
+
+    public int size() {
+        return view.size();
+    }
+
+    public RefreshStats lastStats() {
+        return lastStats;
+    }
+
+    public RuntimeException lastError() {
+        return lastError;
+    }
+
+    public void onRefresh(Consumer<RefreshStats> listener) {
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    // 삭제된 행은 watermark 로 감지할 수 없으므로 필요하면 reload 로 전체를 다시 읽는다
+    public synchronized RefreshStats reload() {
+        rows.clear();
+        watermark = null;
+        return refresh();
+    }
+
+    public void close() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        onClose.run();
+    }
+
+    public record RefreshStats(long sequence, boolean full, int fetchedRows, int changedRows, int totalRows,
+                               long elapsedNanos, LocalDateTime watermark) {
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+    }
+}
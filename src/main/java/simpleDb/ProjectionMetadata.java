@@ -0,0 +1,130 @@
+package simpleDb;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 프로젝션 인터페이스의 getter -> 엔티티 컬럼 매핑 (엔티티/인터페이스 쌍마다 한 번만 리플렉션)
+// getTitle() -> title, isBlind() -> isBlind 또는 blind 중 엔티티에 있는 컬럼
+// 엔티티 필드나 getter 에 @Lazy 가 있으면 SELECT 에서 빼고 처음 호출할 때 페이지 단위로 읽음
+class ProjectionMetadata<T> {
+    private static final Map<List<Class<?>>, ProjectionMetadata<?>> cache = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    private final EntityMetadata<?> entity;
+    private final Map<Method, String> columns;
+    private final Set<String> lazyColumns;
+
+    private ProjectionMetadata(Class<?> entityType, Class<T> type) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException("프로젝션은 인터페이스여야 합니다: " + type.getName());
+        }
+        this.type = type;
+        this.entity = EntityMetadata.of(entityType);
+
+        Map<Method, String> columns = new LinkedHashMap<>();
+        Set<String> lazyColumns = new LinkedHashSet<>();
+        for (Method method : type.getMethods()) {
+            // default 메서드는 프록시에서 InvocationHandler.invokeDefault 로 호출하므로 인터페이스가 public 이어야 함
+            if (method.isDefault() && !Modifier.isPublic(type.getModifiers())) {
+                throw new IllegalArgumentException("default 메서드가 있는 프로젝션은 public 이어야 합니다: " + type.getName());
+            }
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) continue;
+            if (method.getParameterCount() > 0 || method.getReturnType() == void.class) {
+                throw new IllegalArgumentException("프로젝션 메서드는 인자 없는 getter 여야 합니다: " + method);
+            }
+            String column = columnOf(method);
+            columns.put(method, column);
+            if (method.isAnnotationPresent(Lazy.class) || entity.getLazyColumns().contains(column)) {
+                lazyColumns.add(column);
+            }
+        }
+        this.columns = Collections.unmodifiableMap(columns);
+        this.lazyColumns = Collections.unmodifiableSet(lazyColumns);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ProjectionMetadata<T> of(Class<?> entityType, Class<T> type) {
+        return (ProjectionMetadata<T>) cache.computeIfAbsent(List.of(entityType, type), key -> new ProjectionMetadata<>(entityType, type));
+    }
+
+    private String columnOf(Method method) {
+        String name = method.getName();
+        List<String> candidates = new ArrayList<>();
+        if (name.startsWith("get") && name.length() > 3) candidates.add(decapitalize(name.substring(3)));
+        candidates.add(name);
+        if (name.startsWith("is") && name.length() > 2) candidates.add(decapitalize(name.substring(2)));
+
+        return candidates.stream()
+                .filter(entity::hasColumn)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        entity.getType().getSimpleName() + " 에 " + type.getSimpleName() + "." + name + "() 에 맞는 컬럼이 없습니다"));
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    EntityMetadata<?> getEntity() {
+        return entity;
+    }
+
+    // id 는 인터페이스에 없어도 lazy 조회용으로 항상 가져옴
+    List<String> getEagerColumns() {
+        Set<String> eager = new LinkedHashSet<>();
+        eager.add(entity.getIdColumn());
+        columns.values().stream().filter(column -> !lazyColumns.contains(column)).forEach(eager::add);
+        return new ArrayList<>(eager);
+    }
+
+    T newProxy(Map<String, Object> row, LazyPage page, SimpleDbImpl simpleDb) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(row, page, simpleDb)));
+    }
+
+    private class Handler implements InvocationHandler {
+        private final Map<String, Object> row;
+        private final LazyPage page;
+        private final SimpleDbImpl simpleDb;
+
+        Handler(Map<String, Object> row, LazyPage page, SimpleDbImpl simpleDb) {
+            this.row = row;
+            this.page = page;
+            this.simpleDb = simpleDb;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + row;
+                };
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+
+            String column = columns.get(method);
+            Object value = lazyColumns.contains(column)
+                    ? page.get(column, row.get(entity.getIdColumn()))
+                    : row.get(column);
+
+            Class<?> returnType = method.getReturnType();
+            if (value == null) {
+                if (returnType.isPrimitive()) {
+                    throw new IllegalStateException(column + " 값이 null 이라 " + type.getSimpleName() + "." + method.getName() + "() 로 반환할 수 없습니다");
+                }
+                return null;
+            }
+            return MethodType.methodType(returnType).wrap().returnType().isInstance(value)
+                    ? value
+                    : simpleDb.convert(value, method.getGenericReturnType());
+        }
+    }
+}
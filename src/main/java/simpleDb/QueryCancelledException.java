@@ -0,0 +1,16 @@
+package simpleDb;
+
+public class QueryCancelledException extends RuntimeException {
+    public enum Reason {TIMEOUT, INTERRUPTED}
+
+    private final Reason reason;
+
+    public QueryCancelledException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
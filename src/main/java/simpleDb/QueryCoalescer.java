@@ -0,0 +1,87 @@
+package simpleDb;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 같은 SQL + 파라미터로 동시에 들어온 조회는 DB 실행 한 번의 결과를 공유 (single-flight)
+// 공유되는 결과는 변경 불가로 감싸서 전달, 배열을 그대로 내주는 ColumnarResult 는 합치지 않음
+public class QueryCoalescer {
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(String sql, Class<T> type, Object[] params, Supplier<T> query) {
+        if (type == ColumnarResult.class) {
+            return query.get();
+        }
+
+        Key key = new Key(sql, type, Arrays.asList(params));
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(leader, query);
+        }
+
+        try {
+            T result = (T) immutable(query.get());
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+            executions.increment();
+        }
+    }
+
+    // 기다리는 쪽도 자신의 마감 시각과 인터럽트를 지킴
+    // 리더가 자기 마감/인터럽트로 취소됐으면 그 예외를 넘기지 않고 직접 실행
+    private Object await(CompletableFuture<Object> leader, Supplier<?> query) {
+        try {
+            Optional<Deadline> deadline = Deadline.current();
+            return deadline.isPresent()
+                    ? leader.get(Math.max(0, deadline.get().remainingNanos()), TimeUnit.NANOSECONDS)
+                    : leader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof QueryCancelledException) return immutable(query.get());
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryCancelledException(QueryCancelledException.Reason.TIMEOUT, "공유 조회 대기 중 마감 시간 초과", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryCancelledException(QueryCancelledException.Reason.INTERRUPTED, "공유 조회 대기 중 인터럽트", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object immutable(Object result) {
+        if (result instanceof List<?> rows) {
+            List<Object> copy = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                copy.add(row instanceof Map<?, ?> map ? Collections.unmodifiableMap(map) : row);
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (result instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(map);
+        }
+        return result;
+    }
+
+    CoalescingStats stats() {
+        return new CoalescingStats(executions.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    public record CoalescingStats(long executions, long coalesced, int inFlight) {
+    }
+
+    private record Key(String sql, Class<?> type, List<Object> params) {
+    }
+}
@@ -3,7 +3,11 @@ package simpleDb;
 import sql.Sql;
 
 import java.sql.ResultSet;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public interface SimpleDb {
 
@@ -19,9 +23,58 @@ public interface SimpleDb {
 
     <T> T selectRow(String sql, Class<?> cls, Object... params);
 
+    <T> List<T> selectTrackedRows(String sql, Class<T> cls, Object... params);
+
+    <T> T selectTrackedRow(String sql, Class<T> cls, Object... params);
+
+    <T> List<T> selectEntities(Class<T> type, String tail, Object... params);
+
+    <T> List<T> selectProjections(Class<?> entityType, Class<T> projection, String tail, Object... params);
+
+    <T> void loadLazy(List<T> entities, String... columns);
+
+    SpillableRows selectRowsSpillable(String sql, long heapBudgetBytes, Object... params);
+
+    <T> T save(T entity);
+
+    /**
+     * 조회 시점 스냅샷이 있는 엔티티(selectTrackedRow/selectTrackedRows/selectEntities)는 바뀐 컬럼만 UPDATE 하고,
+     * 스냅샷이 없는 엔티티(selectRow/selectRows 로 읽었거나 직접 만든 객체)는 id 를 뺀 모든 컬럼을 UPDATE 한다.
+     * 트랜잭션 안에서는 다음 문장 실행 전이나 commit 때 반영된다.
+     */
+    <T> boolean update(T entity);
+
     void startTransaction();
 
     void rollback();
 
     void commit();
+
+    TransactionContext beginTransaction();
+
+    <T> T inTransaction(Function<TransactionContext, T> work);
+
+    UpsertResult upsert(String table, List<String> keyColumns, List<Map<String, Object>> rows);
+
+    UpsertResult upsert(String table, List<String> keyColumns, List<Map<String, Object>> rows, UpsertOptions options);
+
+    <T> UpsertResult upsert(List<T> entities);
+
+    <T> UpsertResult upsert(List<T> entities, UpsertOptions options);
+
+    void setDefaultQueryTimeout(Duration timeout);
+
+    void setCoalesceReads(boolean coalesceReads);
+
+    long executedStatements();
+
+    QueryCoalescer.CoalescingStats coalescingStats();
+
+    <T> T callAs(AdmissionController.Priority priority, String tag, Supplier<T> work);
+
+    AdmissionController.AdmissionStats admissionStats();
+
+    <T> LiveSnapshot<T> liveSnapshot(String table, Class<T> cls, Duration refreshInterval);
+
+    <T> LiveSnapshot<T> liveSnapshot(String table, String keyColumn, String watermarkColumn, Class<T> cls, Duration refreshInterval);
 }
@@ -0,0 +1,314 @@
+package simpleDb;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+// 풀/대기열/타임아웃/드라이버 설정 모음
+// 서로 충돌하는 설정은 SimpleDbImpl 생성 시점(validate)에 거절
+@Getter
+@Builder(toBuilder = true)
+public class SimpleDbConfig {
+    // 접속 정보
+    @Builder.Default
+    private final String host = "localhost";
+    @Builder.Default
+    private final int port = 3306;
+    private final String dbName;
+    private final String username;
+    private final String password;
+    @Builder.Default
+    private final String serverTimezone = "Asia/Seoul";
+    // true 면 MySQL 대신 프로세스 안의 메모리 DB 사용 (dbName 이 스키마 이름)
+    @Builder.Default
+    private final boolean inMemory = false;
+
+    // 풀 / 대기열
+    @Builder.Default
+    private final int maxPoolSize = 10;
+    @Builder.Default
+    private final int minConcurrency = 1;
+    // 0 이면 maxPoolSize 와 같게
+    @Builder.Default
+    private final int maxConcurrency = 0;
+    @Builder.Default
+    private final int maxQueueLength = 100;
+    @Builder.Default
+    private final Duration maxQueueWait = Duration.ofSeconds(1);
+    @Builder.Default
+    private final double latencyTolerance = 2.0;
+
+    // 트랜잭션 밖의 동일 SELECT 동시 실행을 한 번으로 합침 (결과가 변경 불가가 되므로 preset 에서도 켜지 않음, 직접 켤 것)
+    @Builder.Default
+    private final boolean coalesceReads = false;
+
+    // liveSnapshot 증분 조회 시 watermark 에서 이만큼 앞당겨 다시 읽음 (늦게 커밋된 과거 시각의 행 대비)
+    @Builder.Default
+    private final Duration liveSnapshotOverlap = Duration.ofMinutes(1);
+
+    // 타임아웃 (null/0 이면 무제한, defaultQueryTimeout 은 음수도 무제한)
+    private final Duration defaultQueryTimeout;
+    @Builder.Default
+    private final Duration connectTimeout = Duration.ofSeconds(10);
+    @Builder.Default
+    private final Duration socketTimeout = Duration.ZERO;
+
+    // prepared statement / 메타데이터 캐시
+    @Builder.Default
+    private final boolean useServerPrepStmts = false;
+    @Builder.Default
+    private final boolean cachePrepStmts = false;
+    @Builder.Default
+    private final int prepStmtCacheSize = 25;
+    @Builder.Default
+    private final int prepStmtCacheSqlLimit = 256;
+    @Builder.Default
+    private final boolean cacheResultSetMetadata = false;
+    @Builder.Default
+    private final boolean useLocalSessionState = false;
+    @Builder.Default
+    private final boolean elideSetAutoCommits = false;
+
+    // 배치 / 스트리밍 / 네트워크
+    @Builder.Default
+    private final boolean rewriteBatchedStatements = false;
+    @Builder.Default
+    private final boolean useCursorFetch = false;
+    @Builder.Default
+    private final int defaultFetchSize = 0;
+    @Builder.Default
+    private final boolean useCompression = false;
+    // 0 이면 OS 기본값
+    @Builder.Default
+    private final int tcpRcvBuf = 0;
+    @Builder.Default
+    private final int tcpSndBuf = 0;
+
+    public enum Preset {
+        // 짧은 단건 조회/수정 위주: 서버 prepared statement + 캐시, 짧은 대기/타임아웃
+        OLTP_LOW_LATENCY("oltp") {
+            SimpleDbConfigBuilder apply(SimpleDbConfigBuilder builder) {
+                return builder
+                        .useServerPrepStmts(true)
+                        .cachePrepStmts(true)
+                        .prepStmtCacheSize(250)
+                        .prepStmtCacheSqlLimit(2048)
+                        .cacheResultSetMetadata(true)
+                        .useLocalSessionState(true)
+                        .elideSetAutoCommits(true)
+                        .maxQueueWait(Duration.ofMillis(200))
+                        .defaultQueryTimeout(Duration.ofSeconds(5));
+            }
+        },
+        // 대량 적재: multi-row INSERT 로 재작성, 동시 실행은 적게, 큰 송신 버퍼
+        BULK_LOAD("bulk") {
+            SimpleDbConfigBuilder apply(SimpleDbConfigBuilder builder) {
+                return builder
+                        .rewriteBatchedStatements(true)
+                        .useServerPrepStmts(false)
+                        .cachePrepStmts(true)
+                        .maxPoolSize(4)
+                        .maxQueueWait(Duration.ofSeconds(30))
+                        .tcpSndBuf(1024 * 1024)
+                        .defaultQueryTimeout(Duration.ofMinutes(10));
+            }
+        },
+        // 리포트/스트리밍: 커서 fetch 로 나눠 받고, 압축 + 큰 수신 버퍼
+        REPORTING_STREAMING("reporting") {
+            SimpleDbConfigBuilder apply(SimpleDbConfigBuilder builder) {
+                return builder
+                        .useServerPrepStmts(true)
+                        .useCursorFetch(true)
+                        .defaultFetchSize(1000)
+                        .useCompression(true)
+                        .tcpRcvBuf(1024 * 1024)
+                        .maxQueueWait(Duration.ofSeconds(10))
+                        .defaultQueryTimeout(Duration.ofMinutes(5))
+                        .socketTimeout(Duration.ofMinutes(10));
+            }
+        };
+
+        private final String key;
+
+        Preset(String key) {
+            this.key = key;
+        }
+
+        abstract SimpleDbConfigBuilder apply(SimpleDbConfigBuilder builder);
+
+        public static Preset of(String key) {
+            for (Preset preset : values()) {
+                if (preset.key.equalsIgnoreCase(key) || preset.name().equalsIgnoreCase(key)) return preset;
+            }
+            throw new IllegalArgumentException("알 수 없는 preset: " + key);
+        }
+    }
+
+    public static SimpleDbConfigBuilder preset(Preset preset) {
+        return preset.apply(builder());
+    }
+
+    // simpleDb.preset 을 먼저 적용하고 나머지 simpleDb.* 키로 덮어씀 (Duration 값은 millis)
+    public static SimpleDbConfig load(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            return fromProperties(properties);
+        } catch (IOException e) {
+            throw new RuntimeException("설정 파일 읽기 실패: " + path, e);
+        }
+    }
+
+    public static SimpleDbConfig fromProperties(Properties properties) {
+        String preset = properties.getProperty(PREFIX + "preset");
+        SimpleDbConfigBuilder builder = preset == null ? builder() : preset(Preset.of(preset));
+
+        for (String name : properties.stringPropertyNames()) {
+            if (!name.startsWith(PREFIX) || name.equals(PREFIX + "preset")) continue;
+
+            BiConsumer<SimpleDbConfigBuilder, String> setter = SETTERS.get(name.substring(PREFIX.length()));
+            if (setter == null) {
+                throw new IllegalArgumentException("알 수 없는 설정 키: " + name);
+            }
+            setter.accept(builder, properties.getProperty(name).trim());
+        }
+        return builder.build();
+    }
+
+    private static final String PREFIX = "simpleDb.";
+    private static final Map<String, BiConsumer<SimpleDbConfigBuilder, String>> SETTERS = new HashMap<>();
+
+    static {
+        SETTERS.put("host", SimpleDbConfigBuilder::host);
+        SETTERS.put("port", (b, v) -> b.port(Integer.parseInt(v)));
+        SETTERS.put("dbName", SimpleDbConfigBuilder::dbName);
+        SETTERS.put("username", SimpleDbConfigBuilder::username);
+        SETTERS.put("password", SimpleDbConfigBuilder::password);
+        SETTERS.put("serverTimezone", SimpleDbConfigBuilder::serverTimezone);
+        SETTERS.put("inMemory", (b, v) -> b.inMemory(Boolean.parseBoolean(v)));
+        SETTERS.put("maxPoolSize", (b, v) -> b.maxPoolSize(Integer.parseInt(v)));
+        SETTERS.put("minConcurrency", (b, v) -> b.minConcurrency(Integer.parseInt(v)));
+        SETTERS.put("maxConcurrency", (b, v) -> b.maxConcurrency(Integer.parseInt(v)));
+        SETTERS.put("maxQueueLength", (b, v) -> b.maxQueueLength(Integer.parseInt(v)));
+        SETTERS.put("maxQueueWait", (b, v) -> b.maxQueueWait(Duration.ofMillis(Long.parseLong(v))));
+        SETTERS.put("latencyTolerance", (b, v) -> b.latencyTolerance(Double.parseDouble(v)));
+        SETTERS.put("coalesceReads", (b, v) -> b.coalesceReads(Boolean.parseBoolean(v)));
+        SETTERS.put("liveSnapshotOverlap", (b, v) -> b.liveSnapshotOverlap(Duration.ofMillis(Long.parseLong(v))));
+        SETTERS.put("defaultQueryTimeout", (b, v) -> b.defaultQueryTimeout(limitOrNull(Duration.ofMillis(Long.parseLong(v)))));
+        SETTERS.put("connectTimeout", (b, v) -> b.connectTimeout(Duration.ofMillis(Long.parseLong(v))));
+        SETTERS.put("socketTimeout", (b, v) -> b.socketTimeout(Duration.ofMillis(Long.parseLong(v))));
+        SETTERS.put("useServerPrepStmts", (b, v) -> b.useServerPrepStmts(Boolean.parseBoolean(v)));
+        SETTERS.put("cachePrepStmts", (b, v) -> b.cachePrepStmts(Boolean.parseBoolean(v)));
+        SETTERS.put("prepStmtCacheSize", (b, v) -> b.prepStmtCacheSize(Integer.parseInt(v)));
+        SETTERS.put("prepStmtCacheSqlLimit", (b, v) -> b.prepStmtCacheSqlLimit(Integer.parseInt(v)));
+        SETTERS.put("cacheResultSetMetadata", (b, v) -> b.cacheResultSetMetadata(Boolean.parseBoolean(v)));
+        SETTERS.put("useLocalSessionState", (b, v) -> b.useLocalSessionState(Boolean.parseBoolean(v)));
+        SETTERS.put("elideSetAutoCommits", (b, v) -> b.elideSetAutoCommits(Boolean.parseBoolean(v)));
+        SETTERS.put("rewriteBatchedStatements", (b, v) -> b.rewriteBatchedStatements(Boolean.parseBoolean(v)));
+        SETTERS.put("useCursorFetch", (b, v) -> b.useCursorFetch(Boolean.parseBoolean(v)));
+        SETTERS.put("defaultFetchSize", (b, v) -> b.defaultFetchSize(Integer.parseInt(v)));
+        SETTERS.put("useCompression", (b, v) -> b.useCompression(Boolean.parseBoolean(v)));
+        SETTERS.put("tcpRcvBuf", (b, v) -> b.tcpRcvBuf(Integer.parseInt(v)));
+        SETTERS.put("tcpSndBuf", (b, v) -> b.tcpSndBuf(Integer.parseInt(v)));
+    }
+
+    // 0 을 그대로 두면 이미 지난 마감이 되어 모든 쿼리가 취소되므로 무제한(null)으로 맞춤
+    static Duration limitOrNull(Duration timeout) {
+        return timeout == null || timeout.isZero() || timeout.isNegative() ? null : timeout;
+    }
+
+    public Duration getDefaultQueryTimeout() {
+        return limitOrNull(defaultQueryTimeout);
+    }
+
+    public int getEffectiveMaxConcurrency() {
+        return maxConcurrency > 0 ? maxConcurrency : maxPoolSize;
+    }
+
+    public void validate() {
+        List<String> errors = new ArrayList<>();
+
+        if (dbName == null || (username == null && !inMemory)) {
+            errors.add("dbName, username 은 필수입니다");
+        }
+        if (maxPoolSize < 1) {
+            errors.add("maxPoolSize 는 1 이상이어야 합니다: " + maxPoolSize);
+        }
+        if (minConcurrency < 1 || minConcurrency > getEffectiveMaxConcurrency()) {
+            errors.add("minConcurrency(" + minConcurrency + ") 는 1 ~ maxConcurrency(" + getEffectiveMaxConcurrency() + ") 사이여야 합니다");
+        }
+        // 풀보다 많이 들여보내면 getConnection 에서 바로 실패
+        if (getEffectiveMaxConcurrency() > maxPoolSize) {
+            errors.add("maxConcurrency(" + maxConcurrency + ") 가 maxPoolSize(" + maxPoolSize + ") 보다 큽니다");
+        }
+        if (maxQueueLength < 0 || maxQueueWait.isNegative()) {
+            errors.add("maxQueueLength, maxQueueWait 는 음수일 수 없습니다");
+        }
+        if (liveSnapshotOverlap == null || liveSnapshotOverlap.isNegative()) {
+            errors.add("liveSnapshotOverlap 은 0 이상이어야 합니다");
+        }
+        if (cachePrepStmts && prepStmtCacheSize <= 0) {
+            errors.add("cachePrepStmts 를 쓰려면 prepStmtCacheSize 가 0 보다 커야 합니다");
+        }
+        // 커서 fetch 는 서버 prepared statement + fetch size 가 있어야 동작
+        if (useCursorFetch && !useServerPrepStmts) {
+            errors.add("useCursorFetch 는 useServerPrepStmts=true 가 필요합니다");
+        }
+        if (useCursorFetch && defaultFetchSize <= 0) {
+            errors.add("useCursorFetch 는 defaultFetchSize > 0 이 필요합니다");
+        }
+        if (!useCursorFetch && defaultFetchSize > 0) {
+            errors.add("defaultFetchSize 는 useCursorFetch=true 일 때만 적용됩니다");
+        }
+        // 소켓 타임아웃이 먼저 터지면 쿼리 취소 대신 커넥션이 끊김
+        if (getDefaultQueryTimeout() != null && !socketTimeout.isZero()
+                && socketTimeout.compareTo(getDefaultQueryTimeout()) <= 0) {
+            errors.add("socketTimeout(" + socketTimeout + ") 은 defaultQueryTimeout(" + getDefaultQueryTimeout() + ") 보다 길어야 합니다");
+        }
+        if (tcpRcvBuf < 0 || tcpSndBuf < 0) {
+            errors.add("tcpRcvBuf, tcpSndBuf 는 음수일 수 없습니다");
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("잘못된 SimpleDb 설정: " + String.join(", ", errors));
+        }
+    }
+
+    public String jdbcUrl() {
+        if (inMemory) {
+            return "jdbc:simpleDb:mem:" + dbName;
+        }
+        StringBuilder url = new StringBuilder(String.format("jdbc:mysql://%s:%d/%s?serverTimezone=%s", host, port, dbName, serverTimezone));
+        url.append("&connectTimeout=").append(connectTimeout.toMillis());
+        url.append("&socketTimeout=").append(socketTimeout.toMillis());
+        url.append("&useServerPrepStmts=").append(useServerPrepStmts);
+        url.append("&cachePrepStmts=").append(cachePrepStmts);
+        if (cachePrepStmts) {
+            url.append("&prepStmtCacheSize=").append(prepStmtCacheSize);
+            url.append("&prepStmtCacheSqlLimit=").append(prepStmtCacheSqlLimit);
+        }
+        url.append("&cacheResultSetMetadata=").append(cacheResultSetMetadata);
+        url.append("&useLocalSessionState=").append(useLocalSessionState);
+        url.append("&elideSetAutoCommits=").append(elideSetAutoCommits);
+        url.append("&rewriteBatchedStatements=").append(rewriteBatchedStatements);
+        url.append("&useCursorFetch=").append(useCursorFetch);
+        if (defaultFetchSize > 0) {
+            url.append("&defaultFetchSize=").append(defaultFetchSize);
+        }
+        url.append("&useCompression=").append(useCompression);
+        if (tcpRcvBuf > 0) {
+            url.append("&tcpRcvBuf=").append(tcpRcvBuf);
+        }
+        if (tcpSndBuf > 0) {
+            url.append("&tcpSndBuf=").append(tcpSndBuf);
+        }
+        return url.toString();
+    }
+}
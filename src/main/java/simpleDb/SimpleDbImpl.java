@@ -4,39 +4,81 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import lombok.RequiredArgsConstructor;
+import memoryDb.MemoryDatabase;
 import sql.Sql;
 import sql.SqlImpl;
 
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-@RequiredArgsConstructor
 public class SimpleDbImpl implements SimpleDb {
-    private final int port;
-    private final String host;
-    private final String dbName;
-    private final String username;
-    private final String password;
+    private final SimpleDbConfig config;
     private ObjectMapper om = new ObjectMapper() {{
         registerModule(new JavaTimeModule());
         setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
     }};
 
-    private final int maxPoolSize = 10;
+    private final int maxPoolSize;
     private final Queue<Connection> availableConnections = new ConcurrentLinkedQueue<>();
     private final Set<Connection> usedConnections = ConcurrentHashMap.newKeySet();
 
-    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
-    private final ThreadLocal<Boolean> inTransaction = ThreadLocal.withInitial(() -> false);
+    // 트랜잭션은 call/run 스코프 동안(또는 startTransaction ~ commit/rollback 동안)만 스레드에 연결
+    // 문장마다 ThreadLocal 조회 한 번 (공유 카운터로 건너뛰면 bind/unbind 마다 경합)
+    private final ThreadLocal<TransactionContext> boundTransaction = new ThreadLocal<>();
+
+    private final EntityPersister persister = new EntityPersister(this);
+
+    // 풀 크기를 넘는 요청은 커넥션을 잡기 전에 대기열에서 걸러냄
+    private final AdmissionController admission;
+
+    private ScheduledExecutorService scheduler;
+    // close 때 함께 닫을 스냅샷 (스냅샷을 먼저 닫으면 목록에서 빠짐)
+    private final Set<LiveSnapshot<?>> liveSnapshots = ConcurrentHashMap.newKeySet();
+    private final StatementCanceller canceller = new StatementCanceller();
+    private volatile Duration defaultQueryTimeout;
+
+    private final QueryCoalescer coalescer = new QueryCoalescer();
+    private volatile boolean coalesceReads;
+    // DB 에 실제로 보낸 문장 수 (합쳐진 조회, 캐시된 lazy 값은 세지 않음)
+    private final LongAdder executedStatements = new LongAdder();
+
+    // inMemory 일 때만, close 때 release (같은 이름을 쓰는 마지막 SimpleDb 가 닫히면 스키마 제거)
+    private final MemoryDatabase memoryDatabase;
+    private boolean closed;
+
+    public SimpleDbImpl(int port, String host, String dbName, String username, String password) {
+        this(SimpleDbConfig.builder()
+                .port(port)
+                .host(host)
+                .dbName(dbName)
+                .username(username)
+                .password(password)
+                .build());
+    }
 
-    private Connection getConnection() {
-        if (inTransaction.get() && transactionConnection.get() != null) {
-            return transactionConnection.get();
-        }
+    public SimpleDbImpl(SimpleDbConfig config) {
+        config.validate();
+        this.config = config;
+        this.maxPoolSize = config.getMaxPoolSize();
+        // 메모리 DB 는 지연시간이 부하 신호가 아니므로(수 µs 의 흔들림) limit 을 고정
+        this.admission = new AdmissionController(
+                config.isInMemory() ? config.getEffectiveMaxConcurrency() : config.getMinConcurrency(),
+                config.getEffectiveMaxConcurrency(),
+                config.getMaxQueueLength(), config.getMaxQueueWait().toMillis(), config.getLatencyTolerance());
+        this.defaultQueryTimeout = config.getDefaultQueryTimeout();
+        this.coalesceReads = config.isCoalesceReads();
+        this.memoryDatabase = config.isInMemory() ? MemoryDatabase.open(config.getDbName()) : null;
+    }
 
+    private Connection getConnection() {
         Connection connection = availableConnections.poll();
 
         if (connection != null) {
@@ -54,9 +96,11 @@ public class SimpleDbImpl implements SimpleDb {
     }
 
     private Connection createNewConnection() {
-        String url = String.format("jdbc:mysql://%s:%d/%s?serverTimezone=Asia/Seoul", host, port, dbName);
+        if (config.isInMemory()) {
+            return memoryDatabase.connect();
+        }
         try {
-            return DriverManager.getConnection(url, username, password);
+            return DriverManager.getConnection(config.jdbcUrl(), config.getUsername(), config.getPassword());
         } catch (SQLException e) {
             throw new RuntimeException("Database 연결 실패: " + e.getMessage(), e);
         }
@@ -70,6 +114,15 @@ public class SimpleDbImpl implements SimpleDb {
         }
     }
 
+    private void discardConnection(Connection connection) {
+        usedConnections.remove(connection);
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 이미 끊어진 커넥션
+        }
+    }
+
     private void closeConnection(Connection connection) {
         try {
             if (!connection.isClosed()) {
@@ -80,29 +133,155 @@ public class SimpleDbImpl implements SimpleDb {
         }
     }
 
-    private <T> T _run(String sql, Class<T> type, Object... params) {
-        Connection connection = getConnection();
+    // 파라미터 바인딩부터 실행까지를 PreparedStatement 하나로 처리하는 콜백
+    @FunctionalInterface
+    private interface StatementCallback<T> {
+        T execute(PreparedStatement preparedStatement) throws SQLException;
+    }
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+    private <T> T _run(String sql, Class<T> type, Object... params) {
+        return _run(sql, false, preparedStatement -> {
             bindParams(preparedStatement, params);
-            if (sql.trim().toUpperCase().startsWith("INSERT")) {
-                return (T) (Integer) preparedStatement.executeUpdate();
+            return executeStatement(preparedStatement, sql, type);
+        });
+    }
+
+    // returnGeneratedKeys 는 생성된 키를 읽을 문장(insertReturningKey)에서만 켬
+    private <T> T _run(String sql, boolean returnGeneratedKeys, StatementCallback<T> callback) {
+        // 트랜잭션 중이면 시작할 때 받은 permit 과 커넥션을 그대로 사용
+        TransactionContext transaction = currentTransaction();
+        if (transaction != null) {
+            // 미뤄둔 엔티티 UPDATE 를 먼저 반영해서 같은 트랜잭션의 다음 문장이 자기 변경을 봄 (연속된 update 끼리는 그대로 batch)
+            if (transaction.hasPendingEntities()) {
+                persister.flush(transaction.drainPendingEntities());
             }
+            // 트랜잭션 permit 은 지연시간을 기록하지 않으므로 문장 단위로 표본을 남김
+            long start = System.nanoTime();
+            try {
+                return transaction.withConnection(connection -> execute(connection, false, sql, returnGeneratedKeys, callback));
+            } finally {
+                admission.sample(System.nanoTime() - start);
+            }
+        }
 
-            if (sql.trim().toUpperCase().startsWith("SELECT")) {
-                try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    return parseResultSet(resultSet, type);
-                }
+        AdmissionController.Permit permit = acquirePermit();
+        try {
+            return execute(getConnection(), true, sql, returnGeneratedKeys, callback);
+        } finally {
+            permit.release();
+        }
+    }
+
+    // pooled 이면 실행 후 풀에 반납 (트랜잭션 커넥션은 commit/rollback 때 반납)
+    private <T> T execute(Connection connection, boolean pooled, String sql, boolean returnGeneratedKeys,
+                          StatementCallback<T> callback) {
+        // 스코프 마감이 없으면 기본 타임아웃을 이 쿼리 실행에만 적용
+        Deadline deadline = Deadline.current()
+                .orElse(defaultQueryTimeout == null ? null : Deadline.after(defaultQueryTimeout));
+        boolean cancelled = false;
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql,
+                returnGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS)) {
+            if (deadline != null) {
+                preparedStatement.setQueryTimeout(deadline.remainingSeconds());
             }
 
-            return (T) (Integer) preparedStatement.executeUpdate();
+            // 마감이 없어도 인터럽트되면 취소할 수 있게 모든 문장을 감시 (poller 는 감시 대상이 있을 때만 돎)
+            StatementCanceller.Watch watch = canceller.watch(preparedStatement, deadline);
+            try {
+                executedStatements.increment();
+                return callback.execute(preparedStatement);
+            } catch (SQLException e) {
+                // 드라이버가 poller 보다 먼저 인터럽트를 보고 실패한 경우도 인터럽트로 취급
+                QueryCancelledException.Reason reason = watch.cancelReason() != null ? watch.cancelReason()
+                        : e instanceof SQLTimeoutException ? QueryCancelledException.Reason.TIMEOUT
+                        : Thread.currentThread().isInterrupted() ? QueryCancelledException.Reason.INTERRUPTED : null;
+                if (reason != null) {
+                    throw new QueryCancelledException(reason, "쿼리 취소됨(" + reason + "): " + e.getMessage(), e);
+                }
+                throw e;
+            } finally {
+                canceller.unwatch(watch);
+                cancelled = watch.cancelReason() != null;
+            }
         } catch (SQLException e) {
             throw new RuntimeException("데이터베이스 execute 실패: " + e.getMessage(), e);
         } finally {
-            // 트랜잭션중이면 connection 반납 안함
-            if (!inTransaction.get()) {
-                releaseConnection(connection);
+            if (pooled) {
+                // 취소된 커넥션은 살아있는지 확인 후 반납, 아니면 풀에서 제거
+                if (cancelled && !isReusable(connection)) {
+                    discardConnection(connection);
+                } else {
+                    releaseConnection(connection);
+                }
+            }
+        }
+    }
+
+    long insertReturningKey(String sql, Object... params) {
+        return _run(sql, true, preparedStatement -> {
+            bindParams(preparedStatement, params);
+            preparedStatement.executeUpdate();
+            try (ResultSet keys = preparedStatement.getGeneratedKeys()) {
+                if (!keys.next()) throw new NoSuchElementException("생성된 키가 없습니다");
+                return keys.getLong(1);
+            }
+        });
+    }
+
+    int[] executeBatch(String sql, List<Object[]> batch) {
+        return _run(sql, false, preparedStatement -> {
+            for (Object[] params : batch) {
+                bindParams(preparedStatement, params);
+                preparedStatement.addBatch();
+            }
+            return preparedStatement.executeBatch();
+        });
+    }
+
+    private <T> T executeStatement(PreparedStatement preparedStatement, String sql, Class<T> type) throws SQLException {
+        if (sql.trim().toUpperCase().startsWith("INSERT")) {
+            return (T) (Integer) preparedStatement.executeUpdate();
+        }
+
+        if (sql.trim().toUpperCase().startsWith("SELECT")) {
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return parseResultSet(resultSet, type);
+            }
+        }
+
+        return (T) (Integer) preparedStatement.executeUpdate();
+    }
+
+    private boolean isReusable(Connection connection) {
+        try {
+            connection.clearWarnings();
+            return connection.isValid(1) && connection.getAutoCommit();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private AdmissionController.Permit acquirePermit() {
+        Optional<Deadline> deadline = Deadline.current();
+        if (deadline.isPresent() && deadline.get().isExpired()) {
+            throw new QueryCancelledException(QueryCancelledException.Reason.TIMEOUT, "실행 전에 마감 시간이 지났습니다", null);
+        }
+        if (deadline.isEmpty()) {
+            return admission.acquire();
+        }
+
+        // 마감 때문에 못 들어간 경우는 실행 중 마감 초과와 같은 예외로 (대기열 자체의 한도는 그대로 AdmissionRejectedException)
+        boolean deadlineFirst = deadline.get().remainingNanos() <= config.getMaxQueueWait().toNanos();
+        try {
+            return admission.acquire(deadline.get().nanoTime());
+        } catch (AdmissionRejectedException e) {
+            boolean byDeadline = e.getReason() == AdmissionRejectedException.Reason.DEADLINE
+                    || e.getReason() == AdmissionRejectedException.Reason.TIMEOUT;
+            if (deadlineFirst && byDeadline) {
+                throw new QueryCancelledException(QueryCancelledException.Reason.TIMEOUT, "마감 시간 내 실행 불가: " + e.getMessage(), e);
             }
+            throw e;
         }
     }
 
@@ -113,6 +292,9 @@ public class SimpleDbImpl implements SimpleDb {
     }
 
     private <T> T parseResultSet(ResultSet resultSet, Class<T> type) throws SQLException {
+        // 컬럼형 결과는 빈 결과도 그대로 반환
+        if (type == ColumnarResult.class) return (T) ColumnarResult.from(resultSet);
+
         if (!resultSet.next()) throw new NoSuchElementException("No data found");
 
         return switch (type.getSimpleName()) {
@@ -159,75 +341,390 @@ public class SimpleDbImpl implements SimpleDb {
     }
 
     public <T> T executeQuery(String sql, Class<T> type, Object... params) {
+        // 트랜잭션 밖의 SELECT 만 합침 (트랜잭션 안에서는 자기 변경분이 보여야 함)
+        if (coalesceReads && currentTransaction() == null && sql.trim().toUpperCase().startsWith("SELECT")) {
+            return coalescer.execute(sql, type, params, () -> _run(sql, type, params));
+        }
         return _run(sql, type, params);
     }
 
     public <T> List<T> selectRows(String sql, Class<?> cls, Object... params) {
-        return executeQuery(sql, List.class, params).stream().map(row -> om.convertValue(row, cls)).toList();
+        return executeQuery(sql, List.class, params).stream().map(row -> (T) om.convertValue(row, cls)).toList();
+    }
 
+    // update/save 할 엔티티 조회: 조회 시점 스냅샷을 남겨서 바뀐 컬럼만 UPDATE (일반 조회는 스냅샷을 남기지 않음)
+    public <T> List<T> selectTrackedRows(String sql, Class<T> cls, Object... params) {
+        EntityMetadata.of(cls);
+        List<T> rows = selectRows(sql, cls, params);
+        rows.forEach(persister::track);
+        return rows;
+    }
+
+    public SpillableRows selectRowsSpillable(String sql, long heapBudgetBytes, Object... params) {
+        if (heapBudgetBytes < 0) {
+            throw new IllegalArgumentException("heapBudgetBytes 는 0 이상이어야 합니다: " + heapBudgetBytes);
+        }
+        return _run(sql, false, preparedStatement -> {
+            bindParams(preparedStatement, params);
+            // 커서 fetch 가 아니면 드라이버가 결과 전체를 힙에 받으므로 행 단위 스트리밍으로 받음
+            if (!config.isUseCursorFetch()) {
+                preparedStatement.setFetchSize(Integer.MIN_VALUE);
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return SpillableRows.from(resultSet, heapBudgetBytes, this::resultSetToMap);
+            }
+        });
     }
 
     public <T> T selectRow(String sql, Class<?> cls, Object... params) {
         return (T) om.convertValue(executeQuery(sql, Map.class, params), cls);
     }
 
+    public <T> T selectTrackedRow(String sql, Class<T> cls, Object... params) {
+        EntityMetadata.of(cls);
+        T row = selectRow(sql, cls, params);
+        persister.track(row);
+        return row;
+    }
+
+    // SELECT * 대신 엔티티 필드에서 컬럼 목록을 만들고 @Lazy 컬럼은 빼고 조회 (lazy 필드는 null)
+    // 읽지 않은 lazy 컬럼은 update/save/upsert 때 쓰지 않음
+    public <T> List<T> selectEntities(Class<T> type, String tail, Object... params) {
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        List<T> entities = selectRows(metadata.selectSql(metadata.getEagerColumns(), tail), type, params);
+        entities.forEach(entity -> persister.track(entity, metadata.getLazyColumns()));
+        return entities;
+    }
+
+    // 인터페이스 getter 에 해당하는 컬럼만 조회, @Lazy 컬럼은 처음 호출할 때 페이지 전체를 한 번에 조회
+    public <T> List<T> selectProjections(Class<?> entityType, Class<T> projection, String tail, Object... params) {
+        ProjectionMetadata<T> metadata = ProjectionMetadata.of(entityType, projection);
+        EntityMetadata<?> entity = metadata.getEntity();
+
+        List<Map<String, Object>> rows = executeQuery(entity.selectSql(metadata.getEagerColumns(), tail), List.class, params);
+        LazyPage page = new LazyPage(this, entity.getTableName(), entity.getIdColumn(),
+                rows.stream().map(row -> row.get(entity.getIdColumn())).toList());
+        return rows.stream().map(row -> metadata.newProxy(row, page, this)).toList();
+    }
+
+    // columns 를 비우면 @Lazy 컬럼 전체, 엔티티 수와 관계없이 IN 조회 한 번 (1000 개 단위)
+    // 호출자가 이미 값을 바꾼 필드는 덮어쓰지 않음
+    public <T> void loadLazy(List<T> entities, String... columns) {
+        if (entities.isEmpty()) return;
+
+        EntityMetadata<T> metadata = metadataOf(entities);
+        Collection<String> targets = columns.length == 0 ? metadata.getLazyColumns() : List.of(columns);
+        for (String column : targets) {
+            if (!metadata.hasColumn(column)) {
+                throw new IllegalArgumentException(metadata.getType().getSimpleName() + " 에 없는 컬럼: " + column);
+            }
+        }
+        if (targets.isEmpty()) return;
+
+        LazyPage page = new LazyPage(this, metadata.getTableName(), metadata.getIdColumn(),
+                entities.stream().map(metadata::getId).toList());
+        page.load(targets);
+        for (T entity : entities) {
+            Object id = metadata.getId(entity);
+            if (id == null) continue;
+            for (String column : targets) {
+                if (!persister.isUntouched(entity, column)) continue;
+                Object value = page.get(column, id);
+                metadata.set(entity, column, value);
+                persister.loaded(entity, column, value);
+            }
+        }
+    }
+
+    Object convert(Object value, java.lang.reflect.Type type) {
+        return om.convertValue(value, om.constructType(type));
+    }
+
+    public <T> T save(T entity) {
+        TransactionContext transaction = currentTransaction();
+        return persister.save(entity, transaction == null ? null : transaction.pendingEntities());
+    }
+
+    // selectTrackedRow(s)/selectEntities 로 읽은 엔티티는 바뀐 컬럼만, 그 밖의 엔티티는 id 를 뺀 전체 컬럼을 UPDATE
+    public <T> boolean update(T entity) {
+        TransactionContext transaction = currentTransaction();
+        return persister.update(entity, transaction == null ? null : transaction.pendingEntities());
+    }
+
+    public UpsertResult upsert(String table, List<String> keyColumns, List<Map<String, Object>> rows) {
+        return upsert(table, keyColumns, rows, UpsertOptions.defaults());
+    }
+
+    public UpsertResult upsert(String table, List<String> keyColumns, List<Map<String, Object>> rows, UpsertOptions options) {
+        return new BulkUpsert(this, table, keyColumns, options).execute(rows);
+    }
+
+    public <T> UpsertResult upsert(List<T> entities) {
+        return upsert(entities, UpsertOptions.defaults());
+    }
+
+    // 읽지 않은 @Lazy 컬럼은 기존 행에 쓰지 않음
+    // MySQL 은 중복 키여도 INSERT 행의 NOT NULL 을 검사하므로 그 컬럼은 먼저 읽어서 INSERT 값으로만 사용
+    public <T> UpsertResult upsert(List<T> entities, UpsertOptions options) {
+        if (entities.isEmpty()) return new UpsertResult(0, 0, 0);
+
+        EntityMetadata<T> metadata = metadataOf(entities);
+        Map<Set<String>, List<T>> groups = new LinkedHashMap<>();
+        for (T entity : entities) {
+            groups.computeIfAbsent(persister.unloadedColumns(entity), k -> new ArrayList<>()).add(entity);
+        }
+
+        UpsertResult result = new UpsertResult(0, 0, 0);
+        for (Map.Entry<Set<String>, List<T>> group : groups.entrySet()) {
+            Set<String> unloaded = group.getKey();
+            if (!unloaded.isEmpty()) {
+                loadLazy(group.getValue(), unloaded.toArray(String[]::new));
+            }
+            List<Map<String, Object>> rows = group.getValue().stream().map(metadata::toColumnMap).toList();
+            result = result.plus(new BulkUpsert(this, metadata.getTableName(), List.of(metadata.getIdColumn()), options, unloaded)
+                    .execute(rows));
+        }
+        return result;
+    }
+
+    // 목록의 엔티티는 모두 같은 클래스여야 함 (하위 클래스가 섞이면 필드 구성이 달라짐)
+    private static <T> EntityMetadata<T> metadataOf(List<T> entities) {
+        Class<?> type = null;
+        for (T entity : entities) {
+            if (entity == null) {
+                throw new IllegalArgumentException("엔티티 목록에 null 이 있습니다");
+            }
+            if (type == null) {
+                type = entity.getClass();
+            } else if (entity.getClass() != type) {
+                throw new IllegalArgumentException("엔티티 목록의 클래스가 섞여 있습니다: "
+                        + type.getName() + ", " + entity.getClass().getName());
+            }
+        }
+        return EntityMetadata.of((Class<T>) type);
+    }
+
+    public SimpleDbConfig getConfig() {
+        return config;
+    }
+
+    // null/0/음수는 무제한
+    public void setDefaultQueryTimeout(Duration timeout) {
+        this.defaultQueryTimeout = SimpleDbConfig.limitOrNull(timeout);
+    }
+
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public long executedStatements() {
+        return executedStatements.sum();
+    }
+
+    public QueryCoalescer.CoalescingStats coalescingStats() {
+        return coalescer.stats();
+    }
+
+    public <T> T callAs(AdmissionController.Priority priority, String tag, Supplier<T> work) {
+        return admission.callAs(priority, tag, work);
+    }
+
+    public AdmissionController admission() {
+        return admission;
+    }
+
+    public AdmissionController.AdmissionStats admissionStats() {
+        return admission.stats();
+    }
+
     public Sql genSql() {
         return new SqlImpl(this);
     }
 
-    public void startTransaction(){
-        if (inTransaction.get()) {
-            throw new IllegalStateException("스레드에 이미 트랜잭션이 존재합니다");
-        }
-        Connection connection = getConnection();
+    public TransactionContext beginTransaction() {
+        return beginTransaction(false);
+    }
+
+    private TransactionContext beginTransaction(boolean threadBound) {
+        AdmissionController.Permit permit = acquirePermit();
+        Connection connection = null;
         try {
+            connection = getConnection();
             connection.setAutoCommit(false);
-            usedConnections.add(connection);
-            transactionConnection.set(connection);
-            inTransaction.set(true);
+            return new TransactionContext(this, connection, permit, threadBound);
         } catch (SQLException e) {
+            releaseConnection(connection);
+            permit.releaseUnmeasured();
             throw new RuntimeException("트랜잭션 실행 실패: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            permit.releaseUnmeasured();
+            throw e;
         }
     }
 
-    public void rollback(){
-        if (!inTransaction.get()) {
-            throw new IllegalStateException("스레드에 트랜잭션이 존재하지 않습니다");
+    // work 가 정상 종료하면 commit, 예외면 rollback
+    public <T> T inTransaction(Function<TransactionContext, T> work) {
+        try (TransactionContext transaction = beginTransaction()) {
+            T result = transaction.call(() -> work.apply(transaction));
+            transaction.commit();
+            return result;
+        }
+    }
+
+    private TransactionContext currentTransaction() {
+        return boundTransaction.get();
+    }
+
+    // 지금 스레드의 마감과 admission 호출자를 work 를 실행할 스레드에 다시 걸어줌
+    <T> Supplier<T> carryScope(Supplier<T> work) {
+        Deadline deadline = Deadline.current().orElse(null);
+        AdmissionController.Caller caller = admission.currentCaller();
+        return () -> admission.callAs(caller, deadline == null ? work : () -> Deadline.within(deadline, work));
+    }
+
+    <T> T callIn(TransactionContext transaction, Supplier<T> work) {
+        TransactionContext previous = currentTransaction();
+        if (previous == transaction) {
+            return work.get();
         }
+        if (previous != null) {
+            throw new IllegalStateException("스레드에 이미 다른 트랜잭션이 연결되어 있습니다");
+        }
+
+        bind(transaction);
+        try {
+            return work.get();
+        } finally {
+            unbind();
+        }
+    }
+
+    private void bind(TransactionContext transaction) {
+        boundTransaction.set(transaction);
+    }
+
+    private void unbind() {
+        boundTransaction.remove();
+    }
+
+    void complete(TransactionContext transaction, boolean commit) {
+        transaction.withConnection(connection -> {
+            // commit/rollback 이 실패하면 커넥션 상태(열린 트랜잭션, autoCommit)를 알 수 없으므로 풀에 돌려주지 않음
+            boolean reusable = false;
+            try {
+                if (commit) {
+                    // 모아둔 엔티티 변경을 commit 직전에 batch 로 반영
+                    callIn(transaction, () -> {
+                        persister.flush(transaction.drainPendingEntities());
+                        return null;
+                    });
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(true);
+                reusable = true;
+                return null;
+            } catch (SQLException e) {
+                rollbackQuietly(connection);
+                throw new RuntimeException((commit ? "커밋 실패: " : "트랜잭션 롤백 실패: ") + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                rollbackQuietly(connection);
+                throw e;
+            } finally {
+                transaction.end();
+                if (reusable) {
+                    releaseConnection(connection);
+                } else {
+                    discardConnection(connection);
+                }
+                transaction.permit().releaseUnmeasured();
+            }
+        });
+    }
+
+    private void rollbackQuietly(Connection connection) {
         try {
-            Connection connection = transactionConnection.get();
             connection.rollback();
             connection.setAutoCommit(true);
-        } catch (SQLException e) {
-            throw new RuntimeException("트랜잭션 롤백 실패: " + e.getMessage(), e);
-        } finally {
-            Connection connection = transactionConnection.get();
-            releaseConnection(connection);
-            transactionConnection.remove();
-            inTransaction.remove();
+        } catch (SQLException ignored) {
+            // 원래 예외를 우선
         }
     }
 
+    // startTransaction/commit/rollback 은 호출 스레드에 트랜잭션을 연결하는 기존 방식
+    // 다른 스레드로 넘기는 작업은 beginTransaction/inTransaction 을 사용
+    public void startTransaction(){
+        if (currentTransaction() != null) {
+            throw new IllegalStateException("스레드에 이미 트랜잭션이 존재합니다");
+        }
+        bind(beginTransaction(true));
+    }
+
+    public void rollback(){
+        completeThreadTransaction(false);
+    }
+
     public void commit(){
-        if (!inTransaction.get()) {
+        completeThreadTransaction(true);
+    }
+
+    private void completeThreadTransaction(boolean commit) {
+        TransactionContext transaction = currentTransaction();
+        if (transaction == null) {
             throw new IllegalStateException("스레드에 트랜잭션이 존재하지 않습니다");
         }
         try {
-            Connection connection = transactionConnection.get();
-            connection.commit();
-            connection.setAutoCommit(true);
-        } catch (SQLException e) {
-            throw new RuntimeException("커밋 실패: " + e.getMessage(), e);
+            complete(transaction, commit);
         } finally {
-            Connection connection = transactionConnection.get();
-            releaseConnection(connection);
-            transactionConnection.remove();
-            inTransaction.remove();
+            // call/run 스코프로 연결된 경우는 스코프가 끝날 때 해제
+            if (transaction.isThreadBound()) {
+                unbind();
+            }
+        }
+    }
+
+    public <T> LiveSnapshot<T> liveSnapshot(String table, Class<T> cls, Duration refreshInterval) {
+        return liveSnapshot(table, "id", "modifiedDate", cls, refreshInterval);
+    }
+
+    public <T> LiveSnapshot<T> liveSnapshot(String table, String keyColumn, String watermarkColumn, Class<T> cls, Duration refreshInterval) {
+        LiveSnapshot<T> snapshot = new LiveSnapshot<>(this, table, keyColumn, watermarkColumn, config.getLiveSnapshotOverlap(),
+                row -> cls == Map.class ? cls.cast(Collections.unmodifiableMap(row)) : om.convertValue(row, cls));
+        // 최초 적재는 호출 스레드에서 바로 수행
+        snapshot.refresh();
+        liveSnapshots.add(snapshot);
+        snapshot.schedule(scheduler(), refreshInterval.toMillis(), () -> liveSnapshots.remove(snapshot));
+        return snapshot;
+    }
+
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "simpleDb-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
+        return scheduler;
     }
+
     // 사용 중인 커넥션 및 사용 가능한 커넥션 모두 닫기
     public void close() {
+        liveSnapshots.forEach(LiveSnapshot::close);
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+        canceller.close();
         availableConnections.forEach(this::closeConnection);
         usedConnections.forEach(this::closeConnection);
+        synchronized (this) {
+            if (memoryDatabase != null && !closed) {
+                MemoryDatabase.release(config.getDbName());
+            }
+            closed = true;
+        }
     }
 }
@@ -0,0 +1,360 @@
+package simpleDb;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+// 힙 예산까지는 Map 으로 들고, 넘치는 행은 임시 파일에 바이너리로 써서 mmap 으로 읽는 조회 결과
+// 여러 번 순회할 수 있고, close() 하면 임시 파일을 지움
+public class SpillableRows extends AbstractList<Map<String, Object>> implements AutoCloseable {
+    // 매핑 한 조각의 크기, 조각 경계는 항상 행 시작 위치에 맞춤
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INT = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte STRING = 6;
+    private static final byte DATETIME = 7;
+    private static final byte DATE = 8;
+    private static final byte TIME = 9;
+    private static final byte LOCAL_DATE = 10;
+    private static final byte LOCAL_TIME = 11;
+    private static final byte DECIMAL = 12;
+    private static final byte BIG_INTEGER = 13;
+    private static final byte BYTES = 14;
+
+    // ResultSet 의 현재 행을 Map 으로 (SimpleDbImpl 의 타입 변환을 그대로 사용)
+    @FunctionalInterface
+    interface RowReader {
+        Map<String, Object> read(ResultSet resultSet) throws SQLException;
+    }
+
+    private final List<String> columnNames;
+    private final List<Map<String, Object>> heapRows;
+    private final long heapBytes;
+
+    // 스필된 행: offsets[i] ~ offsets[i + 1] 이 i 번째 행
+    private final Path file;
+    private final long[] offsets;
+    private final int spilledRows;
+    private final long[] segmentStarts;
+    private final int[] segmentFirstRows;
+    private volatile MappedByteBuffer[] segments;
+
+    private SpillableRows(List<String> columnNames, List<Map<String, Object>> heapRows, long heapBytes,
+                          Path file, long[] offsets, int spilledRows) throws IOException {
+        this.columnNames = List.copyOf(columnNames);
+        this.heapRows = heapRows;
+        this.heapBytes = heapBytes;
+        this.file = file;
+        this.offsets = offsets;
+        this.spilledRows = spilledRows;
+
+        List<Long> starts = new ArrayList<>();
+        List<Integer> firstRows = new ArrayList<>();
+        if (spilledRows > 0) {
+            long segmentStart = 0;
+            starts.add(segmentStart);
+            firstRows.add(0);
+            for (int i = 0; i < spilledRows; i++) {
+                if (offsets[i + 1] - segmentStart > SEGMENT_SIZE && offsets[i] > segmentStart) {
+                    segmentStart = offsets[i];
+                    starts.add(segmentStart);
+                    firstRows.add(i);
+                }
+            }
+        }
+        this.segmentStarts = starts.stream().mapToLong(Long::longValue).toArray();
+        this.segmentFirstRows = firstRows.stream().mapToInt(Integer::intValue).toArray();
+        this.segments = map();
+    }
+
+    static SpillableRows from(ResultSet resultSet, long heapBudgetBytes, RowReader reader) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<String> columnNames = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columnNames.add(metaData.getColumnLabel(i));
+        }
+
+        List<Map<String, Object>> heapRows = new ArrayList<>();
+        long heapBytes = 0;
+        Path file = null;
+        DataOutputStream out = null;
+        long[] offsets = new long[1024];
+        int spilledRows = 0;
+        long position = 0;
+
+        try {
+            while (resultSet.next()) {
+                Map<String, Object> row = reader.read(resultSet);
+
+                // 예산을 한 번 넘으면 이후 행은 모두 파일로 (행 순서 유지)
+                if (out == null) {
+                    long size = estimateSize(row);
+                    if (heapBytes + size <= heapBudgetBytes) {
+                        heapRows.add(row);
+                        heapBytes += size;
+                        continue;
+                    }
+                    file = Files.createTempFile("simpleDb-spill-", ".rows");
+                    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+                }
+
+                if (spilledRows + 1 >= offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[spilledRows++] = position;
+                for (String columnName : columnNames) {
+                    position += writeValue(out, row.get(columnName));
+                }
+            }
+            offsets[spilledRows] = position;
+
+            if (out != null) {
+                out.close();
+            }
+            return new SpillableRows(columnNames, heapRows, heapBytes, file, Arrays.copyOf(offsets, spilledRows + 1), spilledRows);
+        } catch (IOException e) {
+            discard(out, file);
+            throw new RuntimeException("스필 파일 쓰기 실패: " + e.getMessage(), e);
+        } catch (SQLException | RuntimeException e) {
+            discard(out, file);
+            throw e;
+        }
+    }
+
+    private static void discard(Closeable out, Path file) {
+        try {
+            if (out != null) out.close();
+            if (file != null) Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private MappedByteBuffer[] map() throws IOException {
+        if (file == null) return new MappedByteBuffer[0];
+
+        MappedByteBuffer[] mapped = new MappedByteBuffer[segmentStarts.length];
+        // 매핑은 채널을 닫아도 유지됨
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < mapped.length; i++) {
+                long end = i + 1 < mapped.length ? segmentStarts[i + 1] : offsets[spilledRows];
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentStarts[i], end - segmentStarts[i]);
+            }
+        }
+        return mapped;
+    }
+
+    // 힙 사용량 대략치 (LinkedHashMap 엔트리 + 값 객체)
+    static long estimateSize(Map<String, Object> row) {
+        long size = 64 + 40L * row.size();
+        for (Object value : row.values()) {
+            if (value == null) continue;
+            if (value instanceof String string) size += 40 + 2L * string.length();
+            else if (value instanceof byte[] bytes) size += 16 + bytes.length;
+            else if (value instanceof LocalDateTime) size += 72;
+            else if (value instanceof BigDecimal || value instanceof BigInteger) size += 64;
+            else size += 24;
+        }
+        return size;
+    }
+
+    private static int writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return 1;
+        }
+        if (value instanceof Long v) {
+            out.writeByte(LONG);
+            out.writeLong(v);
+            return 9;
+        }
+        if (value instanceof Integer v) {
+            out.writeByte(INT);
+            out.writeInt(v);
+            return 5;
+        }
+        if (value instanceof Double v) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(v);
+            return 9;
+        }
+        if (value instanceof Float v) {
+            out.writeByte(FLOAT);
+            out.writeFloat(v);
+            return 5;
+        }
+        if (value instanceof Boolean v) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(v);
+            return 2;
+        }
+        if (value instanceof String v) {
+            return 1 + writeBytes(out, STRING, v.getBytes(StandardCharsets.UTF_8));
+        }
+        if (value instanceof LocalDateTime v) {
+            out.writeByte(DATETIME);
+            out.writeLong(v.toLocalDate().toEpochDay());
+            out.writeLong(v.toLocalTime().toNanoOfDay());
+            return 17;
+        }
+        if (value instanceof java.sql.Date v) {
+            out.writeByte(DATE);
+            out.writeLong(v.toLocalDate().toEpochDay());
+            return 9;
+        }
+        if (value instanceof java.sql.Time v) {
+            out.writeByte(TIME);
+            out.writeLong(v.toLocalTime().toNanoOfDay());
+            return 9;
+        }
+        if (value instanceof LocalDate v) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(v.toEpochDay());
+            return 9;
+        }
+        if (value instanceof LocalTime v) {
+            out.writeByte(LOCAL_TIME);
+            out.writeLong(v.toNanoOfDay());
+            return 9;
+        }
+        if (value instanceof BigDecimal v) {
+            out.writeByte(DECIMAL);
+            out.writeInt(v.scale());
+            return 5 + writeBytes(out, null, v.unscaledValue().toByteArray());
+        }
+        if (value instanceof BigInteger v) {
+            return 1 + writeBytes(out, BIG_INTEGER, v.toByteArray());
+        }
+        if (value instanceof byte[] v) {
+            return 1 + writeBytes(out, BYTES, v);
+        }
+        throw new IllegalArgumentException("스필할 수 없는 값 타입: " + value.getClass().getName());
+    }
+
+    // [tag] + 길이(int) + 바이트, 반환값은 tag 를 뺀 크기
+    private static int writeBytes(DataOutputStream out, Byte tag, byte[] bytes) throws IOException {
+        if (tag != null) out.writeByte(tag);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return 4 + bytes.length;
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case NULL -> null;
+            case LONG -> buffer.getLong();
+            case INT -> buffer.getInt();
+            case DOUBLE -> buffer.getDouble();
+            case FLOAT -> buffer.getFloat();
+            case BOOLEAN -> buffer.get() != 0;
+            case STRING -> new String(readBytes(buffer), StandardCharsets.UTF_8);
+            case DATETIME -> LocalDateTime.of(LocalDate.ofEpochDay(buffer.getLong()), LocalTime.ofNanoOfDay(buffer.getLong()));
+            case DATE -> java.sql.Date.valueOf(LocalDate.ofEpochDay(buffer.getLong()));
+            case TIME -> java.sql.Time.valueOf(LocalTime.ofNanoOfDay(buffer.getLong()));
+            case LOCAL_DATE -> LocalDate.ofEpochDay(buffer.getLong());
+            case LOCAL_TIME -> LocalTime.ofNanoOfDay(buffer.getLong());
+            case DECIMAL -> {
+                int scale = buffer.getInt();
+                yield new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+            }
+            case BIG_INTEGER -> new BigInteger(readBytes(buffer));
+            case BYTES -> readBytes(buffer);
+            default -> throw new IllegalStateException("알 수 없는 값 태그: " + tag);
+        };
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    // 스필된 행은 접근할 때마다 새 Map 으로 복원
+    public Map<String, Object> get(int index) {
+        MappedByteBuffer[] segments = this.segments;
+        if (segments == null) {
+            throw new IllegalStateException("이미 닫힌 결과입니다");
+        }
+        Objects.checkIndex(index, size());
+        if (index < heapRows.size()) {
+            return heapRows.get(index);
+        }
+
+        int row = index - heapRows.size();
+        int segment = segmentOf(row);
+        // 여러 스레드가 같이 읽을 수 있도록 position 은 복제본에서만 이동
+        ByteBuffer buffer = segments[segment].duplicate();
+        buffer.position((int) (offsets[row] - segmentStarts[segment]));
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String columnName : columnNames) {
+            values.put(columnName, readValue(buffer));
+        }
+        return values;
+    }
+
+    private int segmentOf(int row) {
+        int found = Arrays.binarySearch(segmentFirstRows, row);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    public int size() {
+        return heapRows.size() + spilledRows;
+    }
+
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    public int heapRows() {
+        return heapRows.size();
+    }
+
+    public int spilledRows() {
+        return spilledRows;
+    }
+
+    public boolean isSpilled() {
+        return spilledRows > 0;
+    }
+
+    public long heapBytes() {
+        return heapBytes;
+    }
+
+    public long spillFileBytes() {
+        return offsets[spilledRows];
+    }
+
+    public void close() {
+        if (segments == null) return;
+        segments = null;
+        if (file == null) return;
+
+        // 매핑 해제는 GC 가 하므로, 바로 못 지우는 OS 에서는 종료 시 삭제로 넘김
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
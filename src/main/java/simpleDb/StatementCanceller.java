@@ -0,0 +1,106 @@
+package simpleDb;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// 실행 중인 statement 를 감시하다가 마감이 지나거나 호출 스레드가 인터럽트되면 Statement.cancel() 호출
+// 감시 대상이 없으면 poller 를 멈추고, 다음 watch 때 다시 시작
+// poller 는 전용 스레드에서 돎 (LiveSnapshot 갱신 쿼리가 막혀도 취소는 계속 동작해야 함)
+class StatementCanceller {
+    private static final long POLL_MILLIS = 20;
+
+    private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> poller;
+
+    // deadline 이 null 이어도 인터럽트 감시를 위해 등록
+    Watch watch(Statement statement, Deadline deadline) {
+        Watch watch = new Watch(statement, Thread.currentThread(), deadline);
+        watches.add(watch);
+        start();
+        return watch;
+    }
+
+    // 해제 후에는 cancel 이 절대 발생하지 않으므로 커넥션을 안전하게 다음 사용자에게 넘길 수 있음
+    void unwatch(Watch watch) {
+        synchronized (watch) {
+            watches.remove(watch);
+            watch.done = true;
+        }
+    }
+
+    private synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "simpleDb-canceller");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (poller == null && !executor.isShutdown()) {
+            poller = executor.scheduleWithFixedDelay(this::poll, POLL_MILLIS, POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        poller = null;
+    }
+
+    // watch 는 추가한 뒤 start 를 부르므로, 비어 있는 걸 확인하고 멈춰도 새 watch 를 놓치지 않음
+    private synchronized void stopIfIdle() {
+        if (watches.isEmpty() && poller != null) {
+            poller.cancel(false);
+            poller = null;
+        }
+    }
+
+    private void poll() {
+        if (watches.isEmpty()) {
+            stopIfIdle();
+            return;
+        }
+        for (Watch watch : watches) {
+            QueryCancelledException.Reason reason = watch.owner.isInterrupted() ? QueryCancelledException.Reason.INTERRUPTED
+                    : watch.deadline != null && watch.deadline.isExpired() ? QueryCancelledException.Reason.TIMEOUT
+                    : null;
+            if (reason == null) continue;
+
+            synchronized (watch) {
+                if (watch.done || watch.cancelReason != null) continue;
+                watch.cancelReason = reason;
+                try {
+                    watch.statement.cancel();
+                } catch (SQLException ignored) {
+                    // 이미 끝난 statement 는 무시
+                }
+            }
+        }
+    }
+
+    static class Watch {
+        private final Statement statement;
+        private final Thread owner;
+        private final Deadline deadline;
+        private volatile QueryCancelledException.Reason cancelReason;
+        private boolean done;
+
+        private Watch(Statement statement, Thread owner, Deadline deadline) {
+            this.statement = statement;
+            this.owner = owner;
+            this.deadline = deadline;
+        }
+
+        QueryCancelledException.Reason cancelReason() {
+            return cancelReason;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package simpleDb;
+
+import java.sql.Connection;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 스레드가 아니라 객체로 들고 다니는 트랜잭션
+// call/run/wrap 으로 감싼 작업은 어느 스레드(executor, 가상 스레드 하위 작업)에서 실행돼도 이 트랜잭션의 커넥션을 사용
+// 커넥션 하나를 같이 쓰므로 문장 실행은 lock 으로 한 번에 하나씩
+public class TransactionContext implements AutoCloseable {
+    private final SimpleDbImpl simpleDb;
+    private final Connection connection;
+    private final AdmissionController.Permit permit;
+    private final ReentrantLock lock = new ReentrantLock();
+    // 트랜잭션 중 update(entity) 된 엔티티, 다음 문장 실행 전이나 commit 때 batch 로 반영
+    private final Set<Object> pendingEntities = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    // startTransaction 으로 스레드에 직접 연결된 트랜잭션
+    private final boolean threadBound;
+    private volatile boolean active = true;
+
+    TransactionContext(SimpleDbImpl simpleDb, Connection connection, AdmissionController.Permit permit, boolean threadBound) {
+        this.simpleDb = simpleDb;
+        this.connection = connection;
+        this.permit = permit;
+        this.threadBound = threadBound;
+    }
+
+    // 이 트랜잭션 안에서 work 실행 (끝나면 스레드 연결 해제)
+    public <T> T call(Supplier<T> work) {
+        return simpleDb.callIn(this, work);
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // 다른 executor 에 넘길 작업을 이 트랜잭션에 묶어서 반환
+    // wrap 을 부른 스레드의 마감(Deadline)과 admission 우선순위/태그도 같이 옮김
+    public <T> Supplier<T> wrap(Supplier<T> work) {
+        return simpleDb.carryScope(() -> call(work));
+    }
+
+    public Runnable wrap(Runnable work) {
+        Supplier<Object> wrapped = wrap(() -> {
+            work.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+
+    public void commit() {
+        simpleDb.complete(this, true);
+    }
+
+    public void rollback() {
+        simpleDb.complete(this, false);
+    }
+
+    // commit/rollback 없이 닫히면 롤백
+    public void close() {
+        if (active) {
+            rollback();
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    <T> T withConnection(Function<Connection, T> work) {
+        lock.lock();
+        try {
+            if (!active) {
+                throw new IllegalStateException("이미 끝난 트랜잭션입니다");
+            }
+            return work.apply(connection);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Set<Object> pendingEntities() {
+        return pendingEntities;
+    }
+
+    boolean hasPendingEntities() {
+        return !pendingEntities.isEmpty();
+    }
+
+    // 다음 문장 실행 전이나 commit 시점에 모인 엔티티를 꺼내고 비움
+    List<Object> drainPendingEntities() {
+        synchronized (pendingEntities) {
+            List<Object> drained = new ArrayList<>(pendingEntities);
+            pendingEntities.clear();
+            return drained;
+        }
+    }
+
+    AdmissionController.Permit permit() {
+        return permit;
+    }
+
+    boolean isThreadBound() {
+        return threadBound;
+    }
+
+    void end() {
+        active = false;
+    }
+}
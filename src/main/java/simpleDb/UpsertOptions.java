@@ -0,0 +1,29 @@
+package simpleDb;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class UpsertOptions {
+    // 중복 키일 때 덮어쓸 컬럼 (null 이면 키 컬럼과 createdDateColumn 을 뺀 전체)
+    private final List<String> updateColumns;
+    // 삽입/수정 모두 modifiedDate 를 NOW() 로 설정
+    @Builder.Default
+    private final boolean touchModifiedDate = true;
+    @Builder.Default
+    private final String modifiedDateColumn = "modifiedDate";
+    @Builder.Default
+    private final String createdDateColumn = "createdDate";
+    @Builder.Default
+    private final int maxRowsPerStatement = 500;
+    // max_allowed_packet 보다 작게 잡아야 함
+    @Builder.Default
+    private final int maxStatementBytes = 1024 * 1024;
+
+    public static UpsertOptions defaults() {
+        return builder().build();
+    }
+}
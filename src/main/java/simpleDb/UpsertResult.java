@@ -0,0 +1,18 @@
+package simpleDb;
+
+// affectedRows 는 MySQL 이 돌려준 값의 합 (Connector/J 기본값인 CLIENT_FOUND_ROWS 기준)
+// 삽입된 행과 값이 그대로인 기존 행은 둘 다 1 로 세어져 구분할 수 없으므로 삽입/수정 건수로 나누지 않음
+// 값이 실제로 바뀐 기존 행만 2 로 세어지므로 affectedRows - rows 가 그 수
+public record UpsertResult(int statements, int rows, int affectedRows) {
+    public int changedExisting() {
+        return affectedRows - rows;
+    }
+
+    UpsertResult plus(int rowCount, int chunkAffectedRows) {
+        return new UpsertResult(statements + 1, rows + rowCount, affectedRows + chunkAffectedRows);
+    }
+
+    UpsertResult plus(UpsertResult other) {
+        return new UpsertResult(statements + other.statements, rows + other.rows, affectedRows + other.affectedRows);
+    }
+}
@@ -1,7 +1,10 @@
 package sql;
 
 import entity.Article;
+import simpleDb.ColumnarResult;
+import simpleDb.SpillableRows;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +14,8 @@ public interface Sql {
 
     SqlImpl appendIn(String sql, Object... param);
 
+    SqlImpl timeout(Duration timeout);
+
     int insert();
 
     int update();
@@ -31,7 +36,15 @@ public interface Sql {
 
     List<Long> selectLongs();
 
+    ColumnarResult selectColumnar();
+
+    SpillableRows selectRowsSpillable(long heapBudgetBytes);
+
     <T> List<T> selectRows(Class<T> type);
 
     <T> T selectRow(Class<T> type);
+
+    <T> List<T> selectTrackedRows(Class<T> type);
+
+    <T> T selectTrackedRow(Class<T> type);
 }
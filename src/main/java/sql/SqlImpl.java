@@ -1,13 +1,19 @@
 package sql;
 
 import lombok.RequiredArgsConstructor;
+import simpleDb.ColumnarResult;
+import simpleDb.Deadline;
 import simpleDb.SimpleDb;
+import simpleDb.SpillableRows;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -16,6 +22,7 @@ public class SqlImpl implements Sql {
     private final SimpleDb simpleDb;
     private final StringBuilder query;
     private final List<Object> params;
+    private Duration timeout;
 
     public SqlImpl(SimpleDb simpleDb) {
         this.simpleDb = simpleDb;
@@ -42,54 +49,90 @@ public class SqlImpl implements Sql {
         return append(sql.replace("?", inClause), param);
     }
 
+    // 이 Sql 의 풀 대기 + 실행 전체에 적용되는 타임아웃
+    public SqlImpl timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    private <T> T withTimeout(Supplier<T> work) {
+        return timeout == null ? work.get() : Deadline.within(timeout, work);
+    }
+
     public int insert() {
-        return simpleDb.run(query.toString(), params.toArray());
+        return withTimeout(() -> simpleDb.run(query.toString(), params.toArray()));
     }
 
     public int update() {
-        return simpleDb.run(query.toString(), params.toArray());
+        return withTimeout(() -> simpleDb.run(query.toString(), params.toArray()));
     }
 
     public int delete() {
-        return simpleDb.run(query.toString(), params.toArray());
+        return withTimeout(() -> simpleDb.run(query.toString(), params.toArray()));
     }
 
     public List<Map<String, Object>> selectRows() {
-        return simpleDb.executeQuery(query.toString(), List.class, params.toArray());
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), List.class, params.toArray()));
     }
 
     public Map<String, Object> selectRow() {
-        return simpleDb.executeQuery(query.toString(), Map.class, params.toArray());
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), Map.class, params.toArray()));
     }
 
     public LocalDateTime selectDatetime() {
-        return simpleDb.executeQuery(query.toString(), LocalDateTime.class, params.toArray());
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), LocalDateTime.class, params.toArray()));
     }
 
     public Long selectLong() {
-        return simpleDb.executeQuery(query.toString(), Long.class, params.toArray());
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), Long.class, params.toArray()));
     }
 
     public String selectString() {
-        return simpleDb.executeQuery(query.toString(), String.class, params.toArray());
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), String.class, params.toArray()));
     }
 
     public Boolean selectBoolean() {
-        return simpleDb.executeQuery(query.toString(), Boolean.class, params.toArray());
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), Boolean.class, params.toArray()));
     }
 
+    // 첫번째 컬럼을 long[] 으로 받아서 변환 (컬럼명 무관)
+    // NULL 은 null 로, 결과가 없으면 다른 select 와 같이 NoSuchElementException
     public List<Long> selectLongs() {
-        List<Map<String, Object>> rows = simpleDb.executeQuery(query.toString(), List.class, params.toArray());
-        return rows.stream()
-                .map(row -> (Long) row.get("id")) // "id" 키에서 Long 값 추출
-                .collect(Collectors.toList());
+        ColumnarResult result = selectColumnar();
+        if (result.rowCount() == 0) {
+            throw new NoSuchElementException("No data found");
+        }
+
+        ColumnarResult.Column column = result.column(0);
+        long[] values = column.toLongArray();
+        List<Long> longs = new ArrayList<>(values.length);
+        for (int row = 0; row < values.length; row++) {
+            longs.add(column.isNull(row) ? null : values[row]);
+        }
+        return longs;
+    }
+
+    public ColumnarResult selectColumnar() {
+        return withTimeout(() -> simpleDb.executeQuery(query.toString(), ColumnarResult.class, params.toArray()));
+    }
+
+    public SpillableRows selectRowsSpillable(long heapBudgetBytes) {
+        return withTimeout(() -> simpleDb.selectRowsSpillable(query.toString(), heapBudgetBytes, params.toArray()));
     }
 
     public <T> List<T> selectRows(Class<T> cls) {
-        return simpleDb.selectRows(query.toString(), cls, params.toArray());
+        return withTimeout(() -> simpleDb.selectRows(query.toString(), cls, params.toArray()));
     }
 
     public <T> T selectRow(Class<T> cls) {
-        return simpleDb.selectRow(query.toString(), cls, params.toArray());
+        return withTimeout(() -> simpleDb.selectRow(query.toString(), cls, params.toArray()));
+    }
+
+    public <T> List<T> selectTrackedRows(Class<T> cls) {
+        return withTimeout(() -> simpleDb.selectTrackedRows(query.toString(), cls, params.toArray()));
+    }
+
+    public <T> T selectTrackedRow(Class<T> cls) {
+        return withTimeout(() -> simpleDb.selectTrackedRow(query.toString(), cls, params.toArray()));
     }
 }
@@ -1,19 +1,35 @@
 import entity.Article;
 import org.junit.jupiter.api.*;
+import simpleDb.AdmissionController;
+import simpleDb.ColumnarResult;
+import simpleDb.Deadline;
+import simpleDb.LiveSnapshot;
+import simpleDb.QueryCancelledException;
 import simpleDb.SimpleDb;
+import simpleDb.SimpleDbConfig;
 import simpleDb.SimpleDbImpl;
+import simpleDb.SpillableRows;
+import simpleDb.TransactionContext;
+import simpleDb.UpsertOptions;
+import simpleDb.UpsertResult;
 import sql.Sql;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
@@ -24,7 +40,15 @@ public class SimpleDbTest {
 
     @BeforeAll
     public static void beforeAll() {
-        simpleDb = new SimpleDbImpl(3306, "localhost", "simpleDb_test", "root", "1234");
+        // -DsimpleDb.test.inMemory=true 면 MySQL 없이 메모리 DB 로 실행
+        if (Boolean.getBoolean("simpleDb.test.inMemory")) {
+            simpleDb = new SimpleDbImpl(SimpleDbConfig.builder()
+                    .inMemory(true)
+                    .dbName(SimpleDbTest.class.getSimpleName())
+                    .build());
+        } else {
+            simpleDb = new SimpleDbImpl(3306, "localhost", "simpleDb_test", "root", "1234");
+        }
 
         createArticleTable();
         ;
@@ -541,4 +565,655 @@ public class SimpleDbTest {
         assertThat(newCount).isEqualTo(oldCount + 1);
     }
 
+    @Test
+    @DisplayName("liveSnapshot, modifiedDate 기준 증분 갱신")
+    public void t020() {
+        try (LiveSnapshot<Article> snapshot = simpleDb.liveSnapshot("article", Article.class, Duration.ofHours(1))) {
+            assertThat(snapshot.size()).isEqualTo(6);
+            assertThat(snapshot.lastStats().full()).isTrue();
+
+            simpleDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?, modifiedDate = NOW() + INTERVAL 1 SECOND", "제목 new")
+                    .append("WHERE id = ?", 2)
+                    .update();
+
+            LiveSnapshot.RefreshStats stats = snapshot.refresh();
+
+            assertThat(stats.full()).isFalse();
+            assertThat(stats.changedRows()).isEqualTo(1);
+            assertThat(snapshot.get(2L).getTitle()).isEqualTo("제목 new");
+            assertThat(snapshot.get(1L).getTitle()).isEqualTo("제목1");
+
+            // 긴 트랜잭션처럼 watermark 보다 과거 시각으로 늦게 커밋된 행도 overlap 안이면 가져옴
+            simpleDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?, modifiedDate = NOW() - INTERVAL 10 SECOND", "제목 late")
+                    .append("WHERE id = ?", 3)
+                    .update();
+
+            LiveSnapshot.RefreshStats lateStats = snapshot.refresh();
+
+            assertThat(lateStats.changedRows()).isEqualTo(1);
+            assertThat(snapshot.get(3L).getTitle()).isEqualTo("제목 late");
+        }
+    }
+
+    @Test
+    @DisplayName("admission control, 태그별 호출과 통계")
+    public void t021() {
+        long oldAdmitted = simpleDb.admissionStats().admitted();
+
+        long count = simpleDb.callAs(AdmissionController.Priority.BATCH, "report", () -> simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .selectLong());
+
+        AdmissionController.AdmissionStats stats = simpleDb.admissionStats();
+
+        assertThat(count).isEqualTo(6);
+        assertThat(stats.admitted()).isGreaterThan(oldAdmitted);
+        assertThat(stats.inFlight()).isZero();
+        assertThat(stats.rejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("timeout, 마감 초과 시 쿼리 취소 후 커넥션 재사용")
+    public void t022() {
+        assertThatThrownBy(() -> simpleDb.genSql()
+                .append("SELECT SLEEP(3)")
+                .timeout(Duration.ofMillis(300))
+                .selectLong())
+                .isInstanceOf(QueryCancelledException.class);
+
+        long count = simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .selectLong();
+
+        assertThat(count).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("selectColumnar")
+    public void t023() {
+        ColumnarResult result = simpleDb.genSql()
+                .append("SELECT id, title, isBlind, createdDate")
+                .append("FROM article")
+                .append("ORDER BY id ASC")
+                .selectColumnar();
+
+        assertThat(result.rowCount()).isEqualTo(6);
+        assertThat(result.longs("id")).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(result.strings("title").get(0)).isEqualTo("제목1");
+        assertThat(result.strings("title").dictionary()).hasSize(6);
+        assertThat(result.booleans("isBlind")).containsExactly(false, false, false, true, true, true);
+        assertThat(Arrays.stream(result.epochMillis("createdDate")).allMatch(millis -> millis > 0)).isTrue();
+        assertThat(result.column(1)).isSameAs(result.column("title"));
+    }
+
+    @Test
+    @DisplayName("SimpleDbConfig, preset 과 충돌 설정 검증")
+    public void t024() {
+        SimpleDbConfig reporting = SimpleDbConfig.preset(SimpleDbConfig.Preset.REPORTING_STREAMING)
+                .dbName("simpleDb_test")
+                .username("root")
+                .build();
+        reporting.validate();
+
+        assertThat(reporting.jdbcUrl()).contains("useCursorFetch=true", "defaultFetchSize=1000", "useCompression=true");
+
+        SimpleDbConfig clashing = reporting.toBuilder()
+                .useServerPrepStmts(false)
+                .maxConcurrency(20)
+                .build();
+
+        assertThatThrownBy(() -> new SimpleDbImpl(clashing))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("useServerPrepStmts")
+                .hasMessageContaining("maxPoolSize");
+    }
+
+    @Test
+    @DisplayName("upsert, 삽입/수정 건수")
+    public void t025() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> rows = List.of(
+                Map.of("id", 1L, "createdDate", now, "title", "제목 수정", "body", "내용 수정"),
+                Map.of("id", 100L, "createdDate", now, "title", "제목 신규", "body", "내용 신규")
+        );
+
+        UpsertResult result = simpleDb.upsert("article", List.of("id"), rows,
+                UpsertOptions.builder().updateColumns(List.of("title")).build());
+
+        // 신규 1 + 바뀐 기존 행 2
+        assertThat(result.rows()).isEqualTo(2);
+        assertThat(result.affectedRows()).isEqualTo(3);
+        assertThat(result.changedExisting()).isEqualTo(1);
+        assertThat(simpleDb.genSql().append("SELECT title FROM article WHERE id = 1").selectString()).isEqualTo("제목 수정");
+        assertThat(simpleDb.genSql().append("SELECT body FROM article WHERE id = 1").selectString()).isEqualTo("내용1");
+        assertThat(simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("update(entity), 바뀐 컬럼만 반영")
+    public void t026() {
+        Article article = simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id = 1")
+                .selectTrackedRow(Article.class);
+
+        assertThat(simpleDb.update(article)).isFalse();
+
+        article.setTitle("제목 수정");
+        assertThat(simpleDb.update(article)).isTrue();
+
+        simpleDb.startTransaction();
+        List<Article> articles = simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id IN (2, 3) ORDER BY id")
+                .selectTrackedRows(Article.class);
+        articles.forEach(a -> {
+            a.setBody(a.getBody() + " 수정");
+            simpleDb.update(a);
+        });
+        // 커밋 전에도 같은 트랜잭션의 조회에는 보임
+        assertThat(simpleDb.genSql().append("SELECT body FROM article WHERE id = 2").selectString()).isEqualTo("내용2 수정");
+        simpleDb.commit();
+
+        assertThat(simpleDb.genSql().append("SELECT title FROM article WHERE id = 1").selectString()).isEqualTo("제목 수정");
+        assertThat(simpleDb.genSql().append("SELECT body FROM article WHERE id = 3").selectString()).isEqualTo("내용3 수정");
+
+        // 일반 조회는 스냅샷이 없으므로 전체 컬럼을 UPDATE
+        Article untracked = simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id = 4")
+                .selectRow(Article.class);
+        assertThat(simpleDb.update(untracked)).isTrue();
+    }
+
+    @Test
+    @DisplayName("coalesceReads, 동일 SELECT 동시 실행 합치기")
+    public void t027() throws InterruptedException {
+        int numberOfThreads = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(numberOfThreads);
+        AtomicInteger successCounter = new AtomicInteger(0);
+        long oldExecutions = simpleDb.coalescingStats().executions();
+
+        simpleDb.setCoalesceReads(true);
+        try {
+            for (int i = 0; i < numberOfThreads; i++) {
+                executorService.submit(() -> {
+                    try {
+                        start.await();
+                        Map<String, Object> row = simpleDb.genSql()
+                                .append("SELECT id, title, SLEEP(0.3) AS slept")
+                                .append("FROM article")
+                                .append("WHERE id = ?", 1)
+                                .selectRow();
+                        if (row.get("title").equals("제목1")) {
+                            successCounter.incrementAndGet();
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            latch.await(10, TimeUnit.SECONDS);
+        } finally {
+            simpleDb.setCoalesceReads(false);
+            executorService.shutdown();
+        }
+
+        assertThat(successCounter.get()).isEqualTo(numberOfThreads);
+        assertThat(simpleDb.coalescingStats().executions() - oldExecutions).isLessThan(numberOfThreads);
+        assertThat(simpleDb.coalescingStats().coalesced()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("selectRowsSpillable, 힙 예산을 넘는 행은 임시 파일로")
+    public void t028() {
+        Sql sql = simpleDb.genSql();
+        sql.append("SELECT *")
+                .append("FROM article")
+                .append("ORDER BY id ASC");
+
+        try (SpillableRows rows = sql.selectRowsSpillable(1000)) {
+            assertThat(rows.size()).isEqualTo(6);
+            assertThat(rows.isSpilled()).isTrue();
+            assertThat(rows.heapRows() + rows.spilledRows()).isEqualTo(6);
+
+            // 두 번 순회해도 같은 값
+            for (int pass = 0; pass < 2; pass++) {
+                int no = 1;
+                for (Map<String, Object> row : rows) {
+                    assertThat(row.get("id")).isEqualTo((long) no);
+                    assertThat(row.get("title")).isEqualTo("제목%d".formatted(no));
+                    assertThat(row.get("createdDate")).isInstanceOf(LocalDateTime.class);
+                    assertThat(row.get("isBlind")).isEqualTo(no > 3);
+                    no++;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("beginTransaction, 다른 스레드의 작업도 같은 트랜잭션 안에서 실행")
+    public void t029() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try (TransactionContext transaction = simpleDb.beginTransaction()) {
+            transaction.run(() -> simpleDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "새 제목")
+                    .append(", body = ?", "새 내용")
+                    .insert());
+
+            // executor 스레드에서도 커밋 전 변경이 보임
+            long countInTransaction = CompletableFuture.supplyAsync(transaction.wrap(() -> simpleDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .selectLong()), executorService).join();
+            assertThat(countInTransaction).isEqualTo(7);
+
+            // wrap 을 부른 스레드의 마감도 작업 스레드로 옮겨감
+            boolean deadlineCarried = Deadline.within(Duration.ofSeconds(5), () -> CompletableFuture
+                    .supplyAsync(transaction.wrap(() -> Deadline.current().isPresent()), executorService).join());
+            assertThat(deadlineCarried).isTrue();
+
+            // 트랜잭션 밖에서는 안 보임
+            assertThat(simpleDb.genSql().append("SELECT COUNT(*)").append("FROM article").selectLong()).isEqualTo(6);
+        } finally {
+            executorService.shutdown();
+        }
+
+        // commit 없이 닫혔으므로 롤백
+        assertThat(simpleDb.genSql().append("SELECT COUNT(*)").append("FROM article").selectLong()).isEqualTo(6);
+
+        long newCount = simpleDb.inTransaction(transaction -> {
+            simpleDb.run("DELETE FROM article WHERE id = ?", 1);
+            return simpleDb.genSql().append("SELECT COUNT(*)").append("FROM article").selectLong();
+        });
+        assertThat(newCount).isEqualTo(5);
+        assertThat(simpleDb.genSql().append("SELECT COUNT(*)").append("FROM article").selectLong()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("inMemory, MySQL 없이 스키마별 메모리 DB 로 실행")
+    public void t030() throws Exception {
+        SimpleDb memoryDb = new SimpleDbImpl(SimpleDbConfig.builder()
+                .inMemory(true)
+                .dbName("memoryTest")
+                .build());
+        try {
+            memoryDb.run("DROP TABLE IF EXISTS member");
+            memoryDb.run("""
+                    CREATE TABLE member (
+                        id INT UNSIGNED NOT NULL AUTO_INCREMENT,
+                        PRIMARY KEY(id),
+                        name VARCHAR(100) NOT NULL,
+                        age INT NOT NULL DEFAULT 0
+                    )
+                    """);
+
+            IntStream.rangeClosed(1, 5).forEach(no -> memoryDb.genSql()
+                    .append("INSERT INTO member")
+                    .append("SET name = ?", "회원" + no)
+                    .append(", age = ?", no * 10)
+                    .insert());
+
+            assertThat(memoryDb.genSql().append("SELECT name FROM member").append("WHERE id = ?", 3).selectString()).isEqualTo("회원3");
+            assertThat(memoryDb.genSql().append("SELECT COUNT(*) FROM member").append("WHERE id BETWEEN ? AND ?", 2, 4).selectLong()).isEqualTo(3);
+            assertThat(memoryDb.genSql().append("SELECT SUM(age) FROM member").append("WHERE age > ?", 20).selectLong()).isEqualTo(120);
+
+            // 롤백하면 변경이 사라짐
+            try (TransactionContext transaction = memoryDb.beginTransaction()) {
+                transaction.run(() -> memoryDb.run("DELETE FROM member WHERE id > ?", 1));
+                assertThat(transaction.call(() -> memoryDb.genSql().append("SELECT COUNT(*) FROM member").selectLong())).isEqualTo(1);
+            }
+            assertThat(memoryDb.genSql().append("SELECT COUNT(*) FROM member").selectLong()).isEqualTo(5);
+
+            // 주키 중복은 MySQL 과 같은 오류
+            assertThatThrownBy(() -> memoryDb.run("INSERT INTO member SET id = ?, name = ?", 1, "중복"))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Duplicate entry '1'");
+
+            // 별칭/다른 테이블 한정자는 틀린 결과 대신 문법 오류
+            assertThatThrownBy(() -> memoryDb.genSql().append("SELECT * FROM member m").append("WHERE m.id = ?", 1).selectRows())
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("별칭");
+            assertThatThrownBy(() -> memoryDb.genSql().append("SELECT article.name FROM member").selectRows())
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("한정자");
+
+            // FOR UPDATE 로 읽고 고치는 트랜잭션끼리는 갱신을 잃지 않음
+            ExecutorService executorService = Executors.newFixedThreadPool(2);
+            try {
+                List<Future<?>> futures = IntStream.range(0, 2).<Future<?>>mapToObj(i -> executorService.submit(() -> {
+                    for (int round = 0; round < 5; round++) {
+                        memoryDb.inTransaction(transaction -> {
+                            long age = memoryDb.genSql().append("SELECT age FROM member").append("WHERE id = ? FOR UPDATE", 1).selectLong();
+                            return memoryDb.genSql().append("UPDATE member").append("SET age = ? WHERE id = ?", age + 1, 1).update();
+                        });
+                    }
+                })).toList();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executorService.shutdown();
+            }
+            assertThat(memoryDb.genSql().append("SELECT age FROM member").append("WHERE id = ?", 1).selectLong()).isEqualTo(20);
+
+            // 스키마 이름이 다르면 서로 독립
+            assertThatThrownBy(() -> simpleDb.genSql().append("SELECT COUNT(*) FROM member").selectLong())
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("doesn't exist");
+        } finally {
+            memoryDb.close();
+        }
+
+        // 마지막 SimpleDb 가 닫히면 스키마도 제거
+        SimpleDb reopened = new SimpleDbImpl(SimpleDbConfig.builder()
+                .inMemory(true)
+                .dbName("memoryTest")
+                .build());
+        try {
+            assertThatThrownBy(() -> reopened.genSql().append("SELECT COUNT(*) FROM member").selectLong())
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("doesn't exist");
+        } finally {
+            reopened.close();
+        }
+    }
+
+    public interface ArticleListItem {
+        Long getId();
+
+        String getTitle();
+
+        boolean isBlind();
+
+        // Article.body 가 @Lazy 라 처음 호출할 때 페이지 전체를 한 번에 조회
+        String getBody();
+
+        default String getLabel() {
+            return getId() + ". " + getTitle();
+        }
+    }
+
+    @Test
+    @DisplayName("selectProjections / selectEntities, @Lazy 컬럼은 페이지 단위로 한 번에 조회")
+    public void t031() {
+        List<ArticleListItem> items = simpleDb.selectProjections(Article.class, ArticleListItem.class, "WHERE id > ? ORDER BY id DESC", 2);
+
+        assertThat(items.size()).isEqualTo(4);
+        assertThat(items.get(0).getId()).isEqualTo(6L);
+        assertThat(items.get(0).getTitle()).isEqualTo("제목6");
+        assertThat(items.get(0).isBlind()).isTrue();
+        assertThat(items.get(0).getLabel()).isEqualTo("6. 제목6");
+
+        // body 는 첫 접근 때 IN 조회 한 번, 이후에는 다시 조회하지 않음
+        long oldStatements = simpleDb.executedStatements();
+        assertThat(items.get(0).getBody()).isEqualTo("내용6");
+        assertThat(items.get(3).getBody()).isEqualTo("내용3");
+        items.forEach(ArticleListItem::getBody);
+        assertThat(simpleDb.executedStatements() - oldStatements).isEqualTo(1L);
+
+        List<Article> articles = simpleDb.selectEntities(Article.class, "WHERE id <= ? ORDER BY id", 3);
+
+        assertThat(articles.size()).isEqualTo(3);
+        assertThat(articles.get(0).getTitle()).isEqualTo("제목1");
+        assertThat(articles.get(0).getBody()).isNull();
+
+        // 읽지 않은 lazy 컬럼은 upsert/update 때 null 로 덮어쓰지 않음
+        articles.get(0).setTitle("제목 upsert");
+        simpleDb.upsert(List.of(articles.get(0)));
+        assertThat(simpleDb.genSql().append("SELECT body FROM article WHERE id = 1").selectString()).isEqualTo("내용1");
+        articles.get(1).setTitle("제목 update");
+        assertThat(simpleDb.update(articles.get(1))).isTrue();
+        assertThat(simpleDb.genSql().append("SELECT body FROM article WHERE id = 2").selectString()).isEqualTo("내용2");
+
+        // 호출자가 넣은 값은 loadLazy 가 덮어쓰지 않음
+        articles.get(1).setBody("내용 직접");
+        simpleDb.loadLazy(articles);
+
+        assertThat(articles.get(2).getBody()).isEqualTo("내용3");
+        assertThat(articles.get(1).getBody()).isEqualTo("내용 직접");
+        // 나중에 채운 lazy 컬럼은 변경으로 보지 않음
+        assertThat(simpleDb.update(articles.get(2))).isFalse();
+        assertThat(simpleDb.update(articles.get(1))).isTrue();
+        assertThat(simpleDb.genSql().append("SELECT body FROM article WHERE id = 2").selectString()).isEqualTo("내용 직접");
+
+        // 다른 클래스가 섞인 목록은 리플렉션 오류 대신 바로 거부
+        assertThatThrownBy(() -> simpleDb.loadLazy(List.of(articles.get(0), new Object())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("섞여");
+    }
+
+    @Test
+    @DisplayName("트랜잭션 permit, 애플리케이션 처리 시간은 adaptive limit 에 반영하지 않음")
+    public void t032() throws InterruptedException {
+        AdmissionController.AdmissionStats before = simpleDb.admissionStats();
+
+        try (TransactionContext transaction = simpleDb.beginTransaction()) {
+            transaction.run(() -> simpleDb.run("DELETE FROM article WHERE id = ?", 1));
+            // 트랜잭션 중 애플리케이션 작업
+            Thread.sleep(300);
+            transaction.commit();
+        }
+
+        // 표본은 문장 하나뿐이고, 300ms 의 처리 시간은 지연시간에 섞이지 않음
+        AdmissionController.AdmissionStats after = simpleDb.admissionStats();
+        assertThat(after.latencySamples() - before.latencySamples()).isEqualTo(1L);
+        // 트랜잭션 전체(300ms+)가 표본이었다면 평활 지연시간이 0.2 * 300ms 만큼 뜀
+        assertThat(after.smoothedLatencyNanos() - before.smoothedLatencyNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(after.limit()).isEqualTo(before.limit());
+    }
+
+    @Test
+    @DisplayName("timeout, 마감 때문에 대기열에서 거절되어도 QueryCancelledException(TIMEOUT)")
+    public void t033() {
+        // 모든 permit 을 트랜잭션으로 잡아둠
+        List<TransactionContext> transactions = IntStream.range(0, simpleDb.admissionStats().limit())
+                .mapToObj(i -> simpleDb.beginTransaction())
+                .toList();
+        try {
+            assertThatThrownBy(() -> simpleDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .timeout(Duration.ofMillis(200))
+                    .selectLong())
+                    .isInstanceOf(QueryCancelledException.class)
+                    .hasMessageContaining("마감");
+        } finally {
+            transactions.forEach(TransactionContext::close);
+        }
+    }
+
+    @Test
+    @DisplayName("selectLongs, NULL 유지와 빈 결과 / 컬럼형 결과의 타입 불일치")
+    public void t034() {
+        List<Long> ids = simpleDb.genSql()
+                .append("SELECT IF(id = 2, NULL, id) AS maybeId")
+                .append("FROM article")
+                .append("WHERE id <= ?", 3)
+                .append("ORDER BY id")
+                .selectLongs();
+
+        assertThat(ids).isEqualTo(Arrays.asList(1L, null, 3L));
+
+        assertThatThrownBy(() -> simpleDb.genSql()
+                .append("SELECT id")
+                .append("FROM article")
+                .append("WHERE id < ?", 0)
+                .selectLongs())
+                .isInstanceOf(NoSuchElementException.class);
+
+        ColumnarResult result = simpleDb.genSql()
+                .append("SELECT id, title")
+                .append("FROM article")
+                .selectColumnar();
+
+        assertThatThrownBy(() -> result.booleans("title"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("title");
+    }
+
+    @Test
+    @DisplayName("upsert(entities), createdDate 는 기존 행에서 덮어쓰지 않음")
+    public void t035() {
+        Article existing = simpleDb.selectRow("SELECT * FROM article WHERE id = ?", Article.class, 1);
+        LocalDateTime createdDate = existing.getCreatedDate();
+        existing.setTitle("제목 upsert");
+        existing.setCreatedDate(createdDate.plusYears(1));
+
+        Article fresh = new Article();
+        fresh.setCreatedDate(LocalDateTime.now());
+        fresh.setModifiedDate(LocalDateTime.now());
+        fresh.setTitle("제목 신규");
+        fresh.setBody("내용 신규");
+
+        UpsertResult result = simpleDb.upsert(List.of(existing, fresh));
+
+        assertThat(result.rows()).isEqualTo(2);
+        assertThat(result.changedExisting()).isEqualTo(1);
+        Article updated = simpleDb.selectRow("SELECT * FROM article WHERE id = ?", Article.class, 1);
+        assertThat(updated.getTitle()).isEqualTo("제목 upsert");
+        assertThat(updated.getBody()).isEqualTo("내용1");
+        assertThat(updated.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("coalesceReads, 리더가 마감으로 취소돼도 기다리던 쪽은 직접 실행")
+    public void t036() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        simpleDb.setCoalesceReads(true);
+        try {
+            Future<?> leader = executorService.submit(() -> simpleDb.genSql()
+                    .append("SELECT id, title, SLEEP(0.6) AS slept")
+                    .append("FROM article")
+                    .append("WHERE id = ?", 1)
+                    .timeout(Duration.ofMillis(200))
+                    .selectRow());
+            Thread.sleep(50);
+
+            Map<String, Object> row = simpleDb.genSql()
+                    .append("SELECT id, title, SLEEP(0.6) AS slept")
+                    .append("FROM article")
+                    .append("WHERE id = ?", 1)
+                    .selectRow();
+
+            assertThat(row.get("title")).isEqualTo("제목1");
+            Throwable leaderFailure = null;
+            try {
+                leader.get();
+            } catch (ExecutionException e) {
+                leaderFailure = e.getCause();
+            }
+            assertThat(leaderFailure).isInstanceOf(QueryCancelledException.class);
+
+            // 컬럼형 결과는 합치지 않음
+            long oldExecutions = simpleDb.coalescingStats().executions();
+            simpleDb.genSql().append("SELECT id FROM article").selectColumnar();
+            assertThat(simpleDb.coalescingStats().executions()).isEqualTo(oldExecutions);
+        } finally {
+            simpleDb.setCoalesceReads(false);
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("마감이 없는 쿼리도 호출 스레드가 인터럽트되면 취소")
+    public void t037() throws Exception {
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            worker.complete(Thread.currentThread());
+            try {
+                simpleDb.genSql().append("SELECT SLEEP(5)").selectLong();
+                failure.complete(null);
+            } catch (Throwable e) {
+                failure.complete(e);
+            }
+        });
+        long start = System.nanoTime();
+        thread.start();
+        worker.get(1, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        thread.interrupt();
+
+        Throwable e = failure.get(3, TimeUnit.SECONDS);
+        assertThat(e).isInstanceOf(QueryCancelledException.class);
+        assertThat(((QueryCancelledException) e).getReason()).isEqualTo(QueryCancelledException.Reason.INTERRUPTED);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(3));
+    }
+
+    @Test
+    @DisplayName("defaultQueryTimeout 0 은 무제한")
+    public void t038() {
+        assertThat(SimpleDbConfig.builder().defaultQueryTimeout(Duration.ZERO).build().getDefaultQueryTimeout()).isNull();
+
+        Properties properties = new Properties();
+        properties.setProperty("simpleDb.dbName", "zeroTimeout");
+        properties.setProperty("simpleDb.inMemory", "true");
+        properties.setProperty("simpleDb.defaultQueryTimeout", "0");
+        assertThat(SimpleDbConfig.fromProperties(properties).getDefaultQueryTimeout()).isNull();
+
+        simpleDb.setDefaultQueryTimeout(Duration.ZERO);
+        try {
+            assertThat(simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(6);
+        } finally {
+            simpleDb.setDefaultQueryTimeout(null);
+        }
+    }
+
+    @Test
+    @DisplayName("inMemory, 같은 키를 INSERT 한 트랜잭션끼리는 나중 commit 이 중복 키 오류")
+    public void t039() throws Exception {
+        SimpleDb memoryDb = new SimpleDbImpl(SimpleDbConfig.builder()
+                .inMemory(true)
+                .dbName("insertConflictTest")
+                .build());
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            memoryDb.run("DROP TABLE IF EXISTS member");
+            memoryDb.run("""
+                    CREATE TABLE member (
+                        id INT UNSIGNED NOT NULL,
+                        PRIMARY KEY(id),
+                        name VARCHAR(100) NOT NULL
+                    )
+                    """);
+
+            CountDownLatch inserted = new CountDownLatch(1);
+            CountDownLatch committed = new CountDownLatch(1);
+            Future<?> later = executorService.submit(() -> memoryDb.inTransaction(transaction -> {
+                memoryDb.run("INSERT INTO member SET id = ?, name = ?", 1, "나중");
+                inserted.countDown();
+                try {
+                    committed.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return null;
+            }));
+
+            assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+            memoryDb.inTransaction(transaction -> memoryDb.run("INSERT INTO member SET id = ?, name = ?", 1, "먼저"));
+            committed.countDown();
+
+            assertThatThrownBy(() -> later.get(5, TimeUnit.SECONDS))
+                    .hasMessageContaining("Duplicate entry '1'");
+            assertThat(memoryDb.genSql().append("SELECT name FROM member").append("WHERE id = ?", 1).selectString()).isEqualTo("먼저");
+            assertThat(memoryDb.genSql().append("SELECT COUNT(*) FROM member").selectLong()).isEqualTo(1);
+        } finally {
+            executorService.shutdown();
+            memoryDb.close();
+        }
+    }
 }